@@ -0,0 +1,47 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.RequiredArgsConstructor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+@RequiredArgsConstructor
+class BatchTableLoader implements TableLoader {
+    private static final int BATCH_SIZE = 5_000;
+
+    private final Connection connection;
+
+    @Override
+    public void load(String table, List<String> columns, int rows, RowSource source) throws SQLException {
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        Object[] values = new Object[columns.size()];
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int row = 0; row < rows; row++) {
+                source.fill(row, values);
+
+                for (int column = 0; column < values.length; column++) {
+                    statement.setObject(column + 1, toJdbc(values[column]));
+                }
+
+                statement.addBatch();
+
+                if ((row + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                }
+            }
+
+            statement.executeBatch();
+        }
+    }
+
+    private static Object toJdbc(Object value) {
+        return value instanceof LocalDateTime ? Timestamp.valueOf((LocalDateTime) value) : value;
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams rows into PostgreSQL with {@code COPY ... FROM STDIN}. Secondary indexes, foreign keys and
+ * exclusion constraints of the table are dropped for the load and recreated from their catalog
+ * definitions afterwards, so they are built once instead of being maintained row by row.
+ */
+class CopyTableLoader implements TableLoader {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final String SECONDARY_INDEXES = "SELECT i.relname, pg_get_indexdef(x.indexrelid) "
+            + "FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid "
+            + "WHERE x.indrelid = ?::regclass "
+            + "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = x.indexrelid)";
+    private static final String DEFERRABLE_CONSTRAINTS = "SELECT conname, pg_get_constraintdef(oid) "
+            + "FROM pg_constraint WHERE conrelid = ?::regclass AND contype IN ('f', 'x')";
+
+    private final Connection connection;
+    private final PGConnection pgConnection;
+
+    CopyTableLoader(Connection connection) throws SQLException {
+        this.connection = connection;
+        this.pgConnection = connection.unwrap(PGConnection.class);
+    }
+
+    @Override
+    public void load(String table, List<String> columns, int rows, RowSource source) throws SQLException {
+        List<String> restore = new ArrayList<>();
+
+        try (Statement statement = connection.createStatement()) {
+            for (String[] index : definitions(SECONDARY_INDEXES, table)) {
+                statement.execute("DROP INDEX " + index[0]);
+                restore.add(index[1]);
+            }
+
+            for (String[] constraint : definitions(DEFERRABLE_CONSTRAINTS, table)) {
+                statement.execute("ALTER TABLE " + table + " DROP CONSTRAINT " + constraint[0]);
+                restore.add("ALTER TABLE " + table + " ADD CONSTRAINT " + constraint[0] + " " + constraint[1]);
+            }
+
+            copy(table, columns, rows, source);
+
+            for (String ddl : restore) {
+                statement.execute(ddl);
+            }
+        }
+    }
+
+    private List<String[]> definitions(String sql, String table) throws SQLException {
+        List<String[]> definitions = new ArrayList<>();
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, table);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    definitions.add(new String[]{resultSet.getString(1), resultSet.getString(2)});
+                }
+            }
+        }
+
+        return definitions;
+    }
+
+    private void copy(String table, List<String> columns, int rows, RowSource source) throws SQLException {
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN (FORMAT csv)";
+        CopyIn copy = pgConnection.getCopyAPI().copyIn(sql);
+        Object[] values = new Object[columns.size()];
+        StringBuilder buffer = new StringBuilder(BUFFER_SIZE + 1024);
+
+        try {
+            for (int row = 0; row < rows; row++) {
+                source.fill(row, values);
+                appendRow(buffer, values);
+
+                if (buffer.length() >= BUFFER_SIZE) {
+                    write(copy, buffer);
+                }
+            }
+
+            write(copy, buffer);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private static void appendRow(StringBuilder buffer, Object[] values) {
+        for (int column = 0; column < values.length; column++) {
+            if (column > 0) {
+                buffer.append(',');
+            }
+
+            Object value = values[column];
+
+            if (value instanceof String) {
+                buffer.append('"').append(((String) value).replace("\"", "\"\"")).append('"');
+            } else if (value instanceof LocalDateTime) {
+                buffer.append(TIMESTAMP_FORMAT.format((LocalDateTime) value));
+            } else if (value != null) {
+                buffer.append(value);
+            }
+        }
+
+        buffer.append('\n');
+    }
+
+    private static void write(CopyIn copy, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+}
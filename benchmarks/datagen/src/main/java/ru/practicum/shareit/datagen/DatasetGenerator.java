@@ -0,0 +1,187 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Replaces the contents of the users, request, item, booking and comment tables with a data set
+ * described by {@link DatasetSpec}. The same spec always produces the same rows; timestamps are
+ * laid out relative to the generation time so that every booking state has matches.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DatasetGenerator {
+    public static final List<String> VOCABULARY = List.of(
+            "drill", "saw", "ladder", "tent", "bicycle", "kayak", "projector", "camera", "mixer", "grill",
+            "hammer", "sander", "scooter", "telescope", "speaker", "stroller", "snowboard", "guitar", "easel", "trailer"
+    );
+
+    private static final List<String> TABLES = List.of("comment", "booking", "item", "request", "users");
+    private static final int BOOKING_PERIOD_HOURS = 24;
+    private static final int BOOKING_DURATION_HOURS = 20;
+
+    private final DatasetSpec spec;
+
+    public void generate(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try {
+            Vendor vendor = Vendor.of(connection);
+            TableLoader loader = vendor.loader(connection);
+
+            try (Statement statement = connection.createStatement()) {
+                vendor.truncate(statement, TABLES);
+            }
+
+            load(loader);
+
+            try (Statement statement = connection.createStatement()) {
+                vendor.restartIdentity(statement, "users", "user_id", spec.getUsers() + 1L);
+                vendor.restartIdentity(statement, "request", "request_id", spec.getRequests() + 1L);
+                vendor.restartIdentity(statement, "item", "item_id", spec.getItems() + 1L);
+                vendor.restartIdentity(statement, "booking", "booking_id", spec.getBookings() + 1L);
+                vendor.restartIdentity(statement, "comment", "comment_id", spec.getComments() + 1L);
+            }
+
+            connection.commit();
+
+            try (Statement statement = connection.createStatement()) {
+                vendor.analyze(statement, TABLES);
+            }
+
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void load(TableLoader loader) throws SQLException {
+        Random random = new Random(spec.getSeed());
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int users = spec.getUsers();
+        int[] itemOwners = new int[spec.getItems()];
+
+        timed("users", users, () -> loader.load("users", List.of("user_id", "email", "name"), users, (row, values) -> {
+            values[0] = row + 1;
+            values[1] = "user" + (row + 1) + "@shareit.test";
+            values[2] = "User " + (row + 1);
+        }));
+
+        timed("request", spec.getRequests(), () -> loader.load(
+                "request",
+                List.of("request_id", "description", "created", "user_id"),
+                spec.getRequests(),
+                (row, values) -> {
+                    values[0] = row + 1;
+                    values[1] = "Looking for a " + VOCABULARY.get(random.nextInt(VOCABULARY.size()));
+                    values[2] = now.minusMinutes(random.nextInt(365 * 24 * 60));
+                    values[3] = random.nextInt(users) + 1;
+                }
+        ));
+
+        ZipfDistribution owners = new ZipfDistribution(users, spec.getOwnerSkew());
+        ZipfDistribution answeredRequests = spec.getRequests() > 0
+                ? new ZipfDistribution(spec.getRequests(), spec.getRequestSkew())
+                : null;
+
+        timed("item", spec.getItems(), () -> loader.load(
+                "item",
+                List.of("item_id", "name", "description", "available", "owner_id", "request_id"),
+                spec.getItems(),
+                (row, values) -> {
+                    String word = VOCABULARY.get(random.nextInt(VOCABULARY.size()));
+                    boolean answersRequest = answeredRequests != null && random.nextDouble() < spec.getAnsweredItemRatio();
+
+                    itemOwners[row] = owners.sample(random);
+                    values[0] = row + 1;
+                    values[1] = word + " " + (row + 1);
+                    values[2] = "Well kept " + word + ", ready to share";
+                    values[3] = random.nextInt(10) != 0;
+                    values[4] = itemOwners[row];
+                    values[5] = answersRequest ? answeredRequests.sample(random) : null;
+                }
+        ));
+
+        ZipfDistribution bookedItems = new ZipfDistribution(spec.getItems(), spec.getBookingSkew());
+        int[] bookingItems = new int[spec.getBookings()];
+        int[] bookingsPerItem = new int[spec.getItems() + 1];
+
+        for (int booking = 0; booking < bookingItems.length; booking++) {
+            bookingItems[booking] = bookedItems.sample(random);
+            bookingsPerItem[bookingItems[booking]]++;
+        }
+
+        int[] nextSlot = new int[spec.getItems() + 1];
+
+        timed("booking", spec.getBookings(), () -> loader.load(
+                "booking",
+                List.of("booking_id", "start_time", "end_time", "item_id", "booker_id", "status"),
+                spec.getBookings(),
+                (row, values) -> {
+                    int item = bookingItems[row];
+                    long slot = nextSlot[item]++ - bookingsPerItem[item] / 2;
+                    LocalDateTime start = now.plusHours(slot * BOOKING_PERIOD_HOURS);
+
+                    values[0] = row + 1;
+                    values[1] = start;
+                    values[2] = start.plusHours(BOOKING_DURATION_HOURS);
+                    values[3] = item;
+                    values[4] = randomUserExcept(random, itemOwners[item - 1]);
+                    values[5] = bookingStatus(random, start.isBefore(now));
+                }
+        ));
+
+        timed("comment", spec.getComments(), () -> loader.load(
+                "comment",
+                List.of("comment_id", "text", "item_id", "author_id", "created"),
+                spec.getComments(),
+                (row, values) -> {
+                    int item = bookedItems.sample(random);
+
+                    values[0] = row + 1;
+                    values[1] = "Thanks, the " + VOCABULARY.get(random.nextInt(VOCABULARY.size())) + " worked fine";
+                    values[2] = item;
+                    values[3] = randomUserExcept(random, itemOwners[item - 1]);
+                    values[4] = now.minusMinutes(random.nextInt(365 * 24 * 60));
+                }
+        ));
+    }
+
+    private int randomUserExcept(Random random, int excluded) {
+        int user = random.nextInt(spec.getUsers()) + 1;
+
+        return user != excluded ? user : user % spec.getUsers() + 1;
+    }
+
+    private static String bookingStatus(Random random, boolean started) {
+        int roll = random.nextInt(100);
+
+        if (started) {
+            return roll < 85 ? "APPROVED" : roll < 95 ? "REJECTED" : "CANCELED";
+        }
+
+        return roll < 60 ? "APPROVED" : roll < 90 ? "WAITING" : "REJECTED";
+    }
+
+    private static void timed(String table, int rows, LoadStep step) throws SQLException {
+        long started = System.nanoTime();
+        step.run();
+        log.info("Loaded {} rows into {} in {} ms", rows, table, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @FunctionalInterface
+    private interface LoadStep {
+        void run() throws SQLException;
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Shape of a generated data set. Skews are Zipf exponents: 0 spreads rows evenly, larger values
+ * concentrate them on the lowest ids, so user 1 is the biggest owner, item 1 the most booked item
+ * and request 1 the request with the most answers.
+ */
+@Value
+@Builder(toBuilder = true)
+public class DatasetSpec {
+    @Builder.Default
+    long seed = 42;
+
+    @Builder.Default
+    int users = 10_000;
+
+    @Builder.Default
+    int requests = 5_000;
+
+    @Builder.Default
+    int items = 100_000;
+
+    @Builder.Default
+    int bookings = 1_000_000;
+
+    @Builder.Default
+    int comments = 50_000;
+
+    @Builder.Default
+    double ownerSkew = 1.1;
+
+    @Builder.Default
+    double bookingSkew = 1.0;
+
+    @Builder.Default
+    double requestSkew = 1.2;
+
+    @Builder.Default
+    double answeredItemRatio = 0.05;
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.flywaydb.core.Flyway;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line entry point, e.g.
+ * <pre>
+ * mvn -pl benchmarks/datagen exec:java -Dexec.args="--url=jdbc:postgresql://localhost:6541/shareit --bookings=5000000"
+ * </pre>
+ * The schema is migrated first, then every table is truncated and reloaded.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class GenerateDataset {
+    private static final Set<String> OPTIONS = Set.of(
+            "url", "username", "password", "seed", "users", "requests", "items", "bookings", "comments",
+            "owner-skew", "booking-skew", "request-skew", "answered-item-ratio"
+    );
+
+    public static void main(String[] args) throws SQLException {
+        Map<String, String> options = parse(args);
+        String url = options.get("url");
+
+        if (url == null) {
+            throw new IllegalArgumentException("--url is required");
+        }
+
+        String username = options.getOrDefault("username", "postgres");
+        String password = options.getOrDefault("password", "postgres");
+        DatasetSpec defaults = DatasetSpec.builder().build();
+        DatasetSpec spec = DatasetSpec.builder()
+                .seed(Long.parseLong(options.getOrDefault("seed", String.valueOf(defaults.getSeed()))))
+                .users(Integer.parseInt(options.getOrDefault("users", String.valueOf(defaults.getUsers()))))
+                .requests(Integer.parseInt(options.getOrDefault("requests", String.valueOf(defaults.getRequests()))))
+                .items(Integer.parseInt(options.getOrDefault("items", String.valueOf(defaults.getItems()))))
+                .bookings(Integer.parseInt(options.getOrDefault("bookings", String.valueOf(defaults.getBookings()))))
+                .comments(Integer.parseInt(options.getOrDefault("comments", String.valueOf(defaults.getComments()))))
+                .ownerSkew(Double.parseDouble(options.getOrDefault("owner-skew", String.valueOf(defaults.getOwnerSkew()))))
+                .bookingSkew(Double.parseDouble(options.getOrDefault("booking-skew", String.valueOf(defaults.getBookingSkew()))))
+                .requestSkew(Double.parseDouble(options.getOrDefault("request-skew", String.valueOf(defaults.getRequestSkew()))))
+                .answeredItemRatio(Double.parseDouble(options.getOrDefault(
+                        "answered-item-ratio",
+                        String.valueOf(defaults.getAnsweredItemRatio())
+                )))
+                .build();
+
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            migrate(url, username, password, Vendor.of(connection));
+            new DatasetGenerator(spec).generate(connection);
+        }
+    }
+
+    private static void migrate(String url, String username, String password, Vendor vendor) {
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .locations("classpath:db/migration/common", vendor.getMigrationLocation())
+                .baselineOnMigrate(true)
+                .load()
+                .migrate();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = arg.startsWith("--") && separator > 2 ? arg.substring(2, separator) : null;
+
+            if (name == null || !OPTIONS.contains(name)) {
+                throw new IllegalArgumentException("Unknown option " + arg + ", expected --name=value with name in " + OPTIONS);
+            }
+
+            options.put(name, arg.substring(separator + 1));
+        }
+
+        return options;
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.datagen;
+
+import java.sql.SQLException;
+import java.util.List;
+
+interface TableLoader {
+    void load(String table, List<String> columns, int rows, RowSource source) throws SQLException;
+
+    @FunctionalInterface
+    interface RowSource {
+        /**
+         * Fills {@code values} for the given zero-based row. Rows are requested strictly in order.
+         */
+        void fill(int row, Object[] values);
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.datagen;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+enum Vendor {
+    POSTGRESQL("postgresql") {
+        @Override
+        TableLoader loader(Connection connection) throws SQLException {
+            return new CopyTableLoader(connection);
+        }
+
+        @Override
+        void truncate(Statement statement, List<String> tables) throws SQLException {
+            statement.execute("TRUNCATE " + String.join(", ", tables) + " RESTART IDENTITY CASCADE");
+        }
+
+        @Override
+        void restartIdentity(Statement statement, String table, String column, long next) throws SQLException {
+            statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', '" + column + "'), " + next + ", false)");
+        }
+
+        @Override
+        void analyze(Statement statement, List<String> tables) throws SQLException {
+            statement.execute("ANALYZE " + String.join(", ", tables));
+        }
+    },
+    H2("h2") {
+        @Override
+        TableLoader loader(Connection connection) {
+            return new BatchTableLoader(connection);
+        }
+
+        @Override
+        void truncate(Statement statement, List<String> tables) throws SQLException {
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+
+            for (String table : tables) {
+                statement.execute("TRUNCATE TABLE " + table + " RESTART IDENTITY");
+            }
+
+            statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        }
+
+        @Override
+        void restartIdentity(Statement statement, String table, String column, long next) throws SQLException {
+            statement.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " RESTART WITH " + next);
+        }
+
+        @Override
+        void analyze(Statement statement, List<String> tables) throws SQLException {
+            statement.execute("ANALYZE");
+        }
+    };
+
+    private final String migrationDirectory;
+
+    Vendor(String migrationDirectory) {
+        this.migrationDirectory = migrationDirectory;
+    }
+
+    String getMigrationLocation() {
+        return "classpath:db/migration/" + migrationDirectory;
+    }
+
+    abstract TableLoader loader(Connection connection) throws SQLException;
+
+    abstract void truncate(Statement statement, List<String> tables) throws SQLException;
+
+    abstract void restartIdentity(Statement statement, String table, String column, long next) throws SQLException;
+
+    abstract void analyze(Statement statement, List<String> tables) throws SQLException;
+
+    static Vendor of(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+
+        for (Vendor vendor : values()) {
+            if (vendor.migrationDirectory.equalsIgnoreCase(product)) {
+                return vendor;
+            }
+        }
+
+        throw new IllegalArgumentException("Unsupported database: " + product);
+    }
+}
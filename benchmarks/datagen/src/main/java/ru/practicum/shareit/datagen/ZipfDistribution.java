@@ -0,0 +1,32 @@
+package ru.practicum.shareit.datagen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+class ZipfDistribution {
+    private final double[] cumulativeWeights;
+
+    ZipfDistribution(int size, double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Distribution size must be positive, got " + size);
+        }
+
+        cumulativeWeights = new double[size];
+        double total = 0;
+
+        for (int rank = 1; rank <= size; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            cumulativeWeights[rank - 1] = total;
+        }
+    }
+
+    /**
+     * Returns a rank between 1 and the distribution size.
+     */
+    int sample(Random random) {
+        double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int index = Arrays.binarySearch(cumulativeWeights, target);
+
+        return (index >= 0 ? index : -index - 1) + 1;
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.benchmarks.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.ServerClientFactory;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemSearchCache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class BaseClientPassthroughBenchmark {
+    private static final String ITEMS_PATH = "/?from={from}&size={size}";
+
+    @Param({"20", "200", "1000"})
+    private int pageSize;
+
+    private HttpServer server;
+    private ItemClient itemClient;
+    private RestTemplate objectRest;
+    private ObjectMapper objectMapper;
+    private HttpEntity<Void> requestEntity;
+    private Map<String, Object> parameters;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        byte[] page = SamplePages.items(objectMapper, pageSize);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(200, page.length);
+
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(page);
+            }
+        });
+        server.start();
+
+        String serverUrl = "http://localhost:" + server.getAddress().getPort();
+        ClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory();
+        ServerClientFactory clientFactory = new ServerClientFactory(
+                serverUrl,
+                new RestTemplateBuilder(),
+                requestFactory,
+                WebClient.builder(),
+                null
+        );
+        itemClient = new ItemClient(clientFactory, new ItemSearchCache("maximumSize=0", new SimpleMeterRegistry()));
+        objectRest = new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/items"))
+                .requestFactory(() -> requestFactory)
+                .build();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", "1");
+        requestEntity = new HttpEntity<>(headers);
+        parameters = Map.of("from", 0, "size", pageSize);
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public Object passthrough() {
+        return ((ResponseEntity<?>) itemClient.getByUserId(1, 0, pageSize)).getBody();
+    }
+
+    @Benchmark
+    public byte[] deserializeAndWrite() throws JsonProcessingException {
+        ResponseEntity<Object> response = objectRest.exchange(ITEMS_PATH, HttpMethod.GET, requestEntity, Object.class, parameters);
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+}
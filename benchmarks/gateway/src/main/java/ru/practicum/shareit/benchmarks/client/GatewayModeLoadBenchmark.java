@@ -0,0 +1,144 @@
+package ru.practicum.shareit.benchmarks.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class GatewayModeLoadBenchmark {
+    @Param({"blocking", "reactive"})
+    private String mode;
+
+    @Param({"200", "2000"})
+    private int concurrency;
+
+    @Param({"50"})
+    private int upstreamLatencyMillis;
+
+    @Param({"20", "2000"})
+    private int pageSize;
+
+    private DisposableServer upstream;
+    private ConfigurableApplicationContext gateway;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] page = SamplePages.items(new ObjectMapper(), pageSize);
+        Duration latency = Duration.ofMillis(upstreamLatencyMillis);
+
+        upstream = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .handle((serverRequest, serverResponse) -> serverResponse
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendByteArray(Mono.delay(latency).thenReturn(page)))
+                .bindNow();
+
+        gateway = new SpringApplicationBuilder(ShareItGateway.class)
+                .web(WebApplicationType.SERVLET)
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.max-connections=20000",
+                        "--server.tomcat.accept-count=1000",
+                        "--shareit-server.url=http://localhost:" + upstream.port(),
+                        "--shareit-server.http.mode=" + mode,
+                        "--shareit-server.http.max-connections=20000",
+                        "--shareit-server.http.max-connections-per-route=20000",
+                        "--shareit-server.http.lease-timeout=30s",
+                        "--logging.level.org.springframework.web.client.RestTemplate=WARN",
+                        "--spring.main.banner-mode=off"
+                );
+
+        int port = gateway.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items/1"))
+                .header("X-Sharer-User-Id", "1")
+                .timeout(Duration.ofSeconds(60))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        gateway.close();
+        upstream.disposeNow();
+    }
+
+    @Benchmark
+    public void proxyConcurrently(Requests requests) {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[concurrency];
+
+        for (int i = 0; i < concurrency; i++) {
+            responses[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        if (error == null && response.statusCode() == 200) {
+                            requests.completed.incrementAndGet();
+                        } else {
+                            requests.failed.incrementAndGet();
+                        }
+
+                        return null;
+                    });
+        }
+
+        CompletableFuture.allOf(responses).join();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Requests {
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            completed.set(0);
+            failed.set(0);
+        }
+
+        public long completed() {
+            return completed.get();
+        }
+
+        public long failed() {
+            return failed.get();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.benchmarks.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class SamplePages {
+    private SamplePages() {
+    }
+
+    static byte[] items(ObjectMapper objectMapper, int count) throws JsonProcessingException {
+        List<Map<String, Object>> items = new ArrayList<>(count);
+
+        for (int i = 1; i <= count; i++) {
+            Map<String, Object> owner = new LinkedHashMap<>();
+            owner.put("id", i);
+            owner.put("name", "Owner " + i);
+            owner.put("email", "owner" + i + "@example.com");
+
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", i);
+            item.put("name", "Drill " + i);
+            item.put("description", "Cordless drill with two batteries and a case, item number " + i);
+            item.put("available", true);
+            item.put("owner", owner);
+            item.put("requestId", null);
+            item.put("lastBooking", null);
+            item.put("nextBooking", null);
+            item.put("comments", List.of());
+            items.add(item);
+        }
+
+        return objectMapper.writeValueAsBytes(items);
+    }
+}
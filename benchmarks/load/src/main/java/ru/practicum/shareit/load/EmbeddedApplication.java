@@ -0,0 +1,104 @@
+package ru.practicum.shareit.load;
+
+import org.springframework.boot.loader.LaunchedURLClassLoader;
+import org.springframework.boot.loader.archive.Archive;
+import org.springframework.boot.loader.archive.JarFileArchive;
+import org.springframework.boot.loader.jar.JarFile;
+
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Runs a Spring Boot executable jar inside this JVM. Every application gets its own class loader
+ * on top of the platform loader, so the gateway and the server can share a process even though
+ * their classes have the same names.
+ */
+class EmbeddedApplication implements AutoCloseable {
+    private static final String BOOT_INF = "BOOT-INF/";
+    private static final String BOOT_INF_CLASSES = "BOOT-INF/classes/";
+    private static final String BOOT_INF_LIB = "BOOT-INF/lib/";
+    private static final String TOMCAT_URL_HANDLER_FACTORY = "org.apache.catalina.webresources.TomcatURLStreamHandlerFactory";
+
+    private final JarFileArchive archive;
+    private final LaunchedURLClassLoader classLoader;
+    private final AutoCloseable context;
+
+    private EmbeddedApplication(JarFileArchive archive, LaunchedURLClassLoader classLoader, AutoCloseable context) {
+        this.archive = archive;
+        this.classLoader = classLoader;
+        this.context = context;
+    }
+
+    static EmbeddedApplication start(Path jar, List<String> args) throws Exception {
+        JarFile.registerUrlProtocolHandler();
+
+        JarFileArchive archive = new JarFileArchive(jar.toFile());
+        String startClass = archive.getManifest().getMainAttributes().getValue("Start-Class");
+        List<URL> urls = new ArrayList<>();
+        Iterator<Archive> nested = archive.getNestedArchives(
+                entry -> entry.getName().startsWith(BOOT_INF),
+                entry -> entry.isDirectory() ? entry.getName().equals(BOOT_INF_CLASSES) : entry.getName().startsWith(BOOT_INF_LIB)
+        );
+
+        while (nested.hasNext()) {
+            urls.add(nested.next().getUrl());
+        }
+
+        LaunchedURLClassLoader classLoader = new LaunchedURLClassLoader(
+                urls.toArray(new URL[0]),
+                ClassLoader.getPlatformClassLoader()
+        );
+        disableTomcatUrlHandlerFactory(classLoader);
+
+        Object context = withContextClassLoader(classLoader, () -> classLoader
+                .loadClass("org.springframework.boot.SpringApplication")
+                .getMethod("run", Class.class, String[].class)
+                .invoke(null, classLoader.loadClass(startClass), args.toArray(new String[0])));
+
+        return new EmbeddedApplication(archive, classLoader, (AutoCloseable) context);
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            withContextClassLoader(classLoader, () -> {
+                context.close();
+                return null;
+            });
+        } finally {
+            classLoader.close();
+            archive.close();
+        }
+    }
+
+    /**
+     * Tomcat installs a JVM-wide URL stream handler factory, which only the first application could do.
+     */
+    private static void disableTomcatUrlHandlerFactory(ClassLoader classLoader) throws ReflectiveOperationException {
+        try {
+            classLoader.loadClass(TOMCAT_URL_HANDLER_FACTORY).getMethod("disable").invoke(null);
+        } catch (ClassNotFoundException e) {
+            // not a Tomcat application
+        }
+    }
+
+    private static <T> T withContextClassLoader(ClassLoader classLoader, ClassLoaderAction<T> action) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+
+        try {
+            return action.run();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ClassLoaderAction<T> {
+        T run() throws Exception;
+    }
+}
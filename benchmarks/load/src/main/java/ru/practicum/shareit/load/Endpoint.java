@@ -0,0 +1,101 @@
+package ru.practicum.shareit.load;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Random;
+
+enum Endpoint {
+    ITEM_SEARCH("GET /items/search") {
+        @Override
+        HttpRequest request(Workload workload, Random random) {
+            return get(workload, "/items/search?text=" + workload.randomWord(random) + "&from=0&size=20", null);
+        }
+    },
+    ITEM("GET /items/{id}") {
+        @Override
+        HttpRequest request(Workload workload, Random random) {
+            return get(workload, "/items/" + workload.randomItem(random), workload.randomUser(random));
+        }
+    },
+    OWNER_ITEMS("GET /items") {
+        @Override
+        HttpRequest request(Workload workload, Random random) {
+            return get(workload, "/items?from=0&size=20", workload.randomOwner(random));
+        }
+    },
+    OWNER_BOOKINGS("GET /bookings/owner") {
+        @Override
+        HttpRequest request(Workload workload, Random random) {
+            return get(workload, "/bookings/owner?state=ALL&from=0&size=20", workload.randomOwner(random));
+        }
+    },
+    BOOKER_BOOKINGS("GET /bookings") {
+        @Override
+        HttpRequest request(Workload workload, Random random) {
+            return get(workload, "/bookings?state=ALL&from=0&size=20", workload.randomUser(random));
+        }
+    },
+    OTHER_REQUESTS("GET /requests/all") {
+        @Override
+        HttpRequest request(Workload workload, Random random) {
+            return get(workload, "/requests/all?from=0&size=20", workload.randomUser(random));
+        }
+    },
+    CREATE_BOOKING("POST /bookings") {
+        @Override
+        HttpRequest request(Workload workload, Random random) {
+            long itemId = workload.randomAvailableItem(random);
+            LocalDateTime start = LocalDateTime.now()
+                    .truncatedTo(ChronoUnit.HOURS)
+                    .plusHours(1 + random.nextInt(24 * 365 * 5));
+            String body = String.format(
+                    "{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}",
+                    itemId,
+                    start,
+                    start.plusHours(1 + random.nextInt(48))
+            );
+
+            return builder(workload, "/bookings", workload.randomUserExcept(random, workload.ownerOf(itemId)))
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    };
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final String title;
+
+    Endpoint(String title) {
+        this.title = title;
+    }
+
+    String getTitle() {
+        return title;
+    }
+
+    String getOptionName() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    abstract HttpRequest request(Workload workload, Random random);
+
+    private static HttpRequest get(Workload workload, String pathAndQuery, Long userId) {
+        return builder(workload, pathAndQuery, userId).GET().build();
+    }
+
+    private static HttpRequest.Builder builder(Workload workload, String pathAndQuery, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(workload.uri(pathAndQuery))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json");
+
+        if (userId != null) {
+            builder.header("X-Sharer-User-Id", String.valueOf(userId));
+        }
+
+        return builder;
+    }
+}
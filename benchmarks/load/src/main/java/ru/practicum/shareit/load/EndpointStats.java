@@ -0,0 +1,76 @@
+package ru.practicum.shareit.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies are recorded from the moment a request was scheduled, not from when it was sent,
+ * so a stalled system cannot hide its queueing delay from the percentiles.
+ */
+class EndpointStats {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    void record(long scheduledNanos, int status) {
+        recordLatency(scheduledNanos);
+
+        if (status >= 500) {
+            failed.increment();
+        } else if (status >= 400) {
+            rejected.increment();
+        } else {
+            succeeded.increment();
+        }
+    }
+
+    void recordFailure(long scheduledNanos) {
+        recordLatency(scheduledNanos);
+        failed.increment();
+    }
+
+    void recordTimeout(long scheduledNanos) {
+        recordLatency(scheduledNanos);
+        timedOut.increment();
+    }
+
+    LoadReport.EndpointResult toResult(String endpoint, double seconds) {
+        long requests = latency.getTotalCount();
+
+        return LoadReport.EndpointResult.builder()
+                .endpoint(endpoint)
+                .requests(requests)
+                .throughput(requests / seconds)
+                .rejected(rejected.sum())
+                .failed(failed.sum())
+                .timedOut(timedOut.sum())
+                .rejectedRate(ratio(rejected.sum(), requests))
+                .errorRate(ratio(failed.sum() + timedOut.sum(), requests))
+                .timeoutRate(ratio(timedOut.sum(), requests))
+                .p50Millis(percentileMillis(50))
+                .p99Millis(percentileMillis(99))
+                .p999Millis(percentileMillis(99.9))
+                .maxMillis(latency.getMaxValue() / 1000.0)
+                .build();
+    }
+
+    private void recordLatency(long scheduledNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledNanos);
+        latency.recordValue(Math.max(0, Math.min(micros, MAX_LATENCY_MICROS)));
+    }
+
+    private double percentileMillis(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static double ratio(long part, long total) {
+        return total == 0 ? 0 : (double) part / total;
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.load;
+
+import lombok.RequiredArgsConstructor;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Open-loop generator: requests are started on a fixed schedule whatever the response times are,
+ * the way independent users arrive, instead of waiting for the previous response.
+ */
+@RequiredArgsConstructor
+class LoadGenerator {
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final TrafficMix mix;
+    private final Random random;
+
+    LoadReport run(int rps, Duration duration) throws InterruptedException {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        mix.getEndpoints().forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+
+        Set<InFlightRequest> inFlight = ConcurrentHashMap.newKeySet();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+        long started = System.nanoTime();
+        long total = duration.getSeconds() * rps;
+
+        for (long sequence = 0; sequence < total; sequence++) {
+            long scheduled = started + sequence * intervalNanos;
+            Endpoint endpoint = mix.pick(random);
+            EndpointStats endpointStats = stats.get(endpoint);
+
+            parkUntil(scheduled);
+            InFlightRequest request = new InFlightRequest(
+                    scheduled,
+                    endpointStats,
+                    client.sendAsync(endpoint.request(workload, random), HttpResponse.BodyHandlers.discarding())
+            );
+            inFlight.add(request);
+            request.response.whenComplete((response, error) -> {
+                // a request removed at the drain deadline was already counted as timed out
+                if (!inFlight.remove(request)) {
+                    return;
+                }
+
+                if (error != null) {
+                    endpointStats.recordFailure(scheduled);
+                } else {
+                    endpointStats.record(scheduled, response.statusCode());
+                }
+            });
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+
+        while (!inFlight.isEmpty() && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+
+        for (InFlightRequest request : inFlight) {
+            if (inFlight.remove(request)) {
+                request.response.cancel(true);
+                request.stats.recordTimeout(request.scheduled);
+            }
+        }
+
+        List<LoadReport.EndpointResult> results = stats.entrySet()
+                .stream()
+                .map(entry -> entry.getValue().toResult(entry.getKey().getTitle(), seconds))
+                .collect(Collectors.toList());
+        long requests = results.stream().mapToLong(LoadReport.EndpointResult::getRequests).sum();
+
+        return LoadReport.builder()
+                .mix(mix.toString())
+                .targetRps(rps)
+                .durationSeconds(seconds)
+                .requests(requests)
+                .throughput(requests / seconds)
+                .endpoints(results)
+                .build();
+    }
+
+    @RequiredArgsConstructor
+    private static class InFlightRequest {
+        private final long scheduled;
+        private final EndpointStats stats;
+        private final CompletableFuture<HttpResponse<Void>> response;
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.load;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.PrintStream;
+import java.util.List;
+
+@Value
+@Builder
+class LoadReport {
+    String mix;
+    int targetRps;
+    double durationSeconds;
+    long requests;
+    double throughput;
+    List<EndpointResult> endpoints;
+
+    void print(PrintStream out) {
+        out.printf("%nMix %s, target %d rps, achieved %.1f rps over %.0f s%n", mix, targetRps, throughput, durationSeconds);
+        out.printf("%-22s %9s %9s %9s %9s %9s %9s %8s %8s %9s%n",
+                "endpoint", "requests", "rps", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "4xx %", "error %", "timeout %");
+
+        for (EndpointResult result : endpoints) {
+            out.printf("%-22s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %8.2f %8.2f %9.2f%n",
+                    result.getEndpoint(),
+                    result.getRequests(),
+                    result.getThroughput(),
+                    result.getP50Millis(),
+                    result.getP99Millis(),
+                    result.getP999Millis(),
+                    result.getMaxMillis(),
+                    result.getRejectedRate() * 100,
+                    result.getErrorRate() * 100,
+                    result.getTimeoutRate() * 100);
+        }
+    }
+
+    @Value
+    @Builder
+    static class EndpointResult {
+        String endpoint;
+        long requests;
+        double throughput;
+        long rejected;
+        long failed;
+        long timedOut;
+        double rejectedRate;
+        double errorRate;
+        double timeoutRate;
+        double p50Millis;
+        double p99Millis;
+        double p999Millis;
+        double maxMillis;
+    }
+}
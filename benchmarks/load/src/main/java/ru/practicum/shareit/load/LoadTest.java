@@ -0,0 +1,182 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.h2.tools.Server;
+import ru.practicum.shareit.datagen.DatasetGenerator;
+import ru.practicum.shareit.datagen.DatasetSpec;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Boots the gateway and the server from their executable jars in this JVM, fills the database with
+ * {@link DatasetGenerator} and replays a traffic mix against the gateway at a fixed rate, e.g.
+ * <pre>
+ * java -jar benchmarks/load/target/load-tests.jar --mix=search-heavy --rps=200 --duration=60s
+ * </pre>
+ * Without {@code --db-url} the server runs on an in-memory H2 database served over TCP, so nothing
+ * outside this process is needed. A {@code --db-url} database is truncated before seeding.
+ * Options starting with {@code --gateway.} or {@code --server.} are passed to that application.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class LoadTest {
+    private static final String GATEWAY_PREFIX = "gateway.";
+    private static final String SERVER_PREFIX = "server.";
+    private static final Set<String> OPTIONS = Set.of(
+            "rps", "duration", "warmup", "mix", "seed", "report", "apps",
+            "db-url", "db-username", "db-password",
+            "users", "requests", "items", "bookings", "comments", "owner-skew", "booking-skew"
+    );
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        List<String> gatewayArgs = new ArrayList<>(List.of(
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN",
+                // both applications would register the same Tomcat MBeans in this JVM
+                "--server.tomcat.mbeanregistry.enabled=false"
+        ));
+        List<String> serverArgs = new ArrayList<>(List.of(
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+                "--logging.level.org.springframework.web.servlet.DispatcherServlet=WARN"
+        ));
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = arg.startsWith("--") && separator > 2 ? arg.substring(2, separator) : "";
+
+            if (name.startsWith(GATEWAY_PREFIX)) {
+                gatewayArgs.add("--" + arg.substring(2 + GATEWAY_PREFIX.length()));
+            } else if (name.startsWith(SERVER_PREFIX)) {
+                serverArgs.add("--" + arg.substring(2 + SERVER_PREFIX.length()));
+            } else if (OPTIONS.contains(name)) {
+                options.put(name, arg.substring(separator + 1));
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg + ", expected --name=value with name in " + OPTIONS);
+            }
+        }
+
+        DatasetSpec defaults = DatasetSpec.builder().build();
+        DatasetSpec spec = DatasetSpec.builder()
+                .seed(Long.parseLong(options.getOrDefault("seed", "42")))
+                .users(Integer.parseInt(options.getOrDefault("users", "2000")))
+                .requests(Integer.parseInt(options.getOrDefault("requests", "1000")))
+                .items(Integer.parseInt(options.getOrDefault("items", "20000")))
+                .bookings(Integer.parseInt(options.getOrDefault("bookings", "200000")))
+                .comments(Integer.parseInt(options.getOrDefault("comments", "10000")))
+                .ownerSkew(Double.parseDouble(options.getOrDefault("owner-skew", String.valueOf(defaults.getOwnerSkew()))))
+                .bookingSkew(Double.parseDouble(options.getOrDefault("booking-skew", String.valueOf(defaults.getBookingSkew()))))
+                .build();
+        int rps = Integer.parseInt(options.getOrDefault("rps", "100"));
+        Duration duration = duration(options.getOrDefault("duration", "60s"));
+        Duration warmup = duration(options.getOrDefault("warmup", "15s"));
+        TrafficMix mix = TrafficMix.parse(options.getOrDefault("mix", "mixed"));
+        Path apps = options.containsKey("apps") ? Path.of(options.get("apps")) : defaultAppsDirectory();
+        Path reportFile = Path.of(options.getOrDefault("report", "load-report.json"));
+
+        // DriverManager only hands out drivers loaded by the caller, not the ones the applications register
+        Class.forName("org.h2.Driver");
+        Class.forName("org.postgresql.Driver");
+
+        Server h2 = null;
+        String dbUrl = options.get("db-url");
+        String dbUsername = options.getOrDefault("db-username", "postgres");
+        String dbPassword = options.getOrDefault("db-password", "postgres");
+
+        if (dbUrl == null) {
+            h2 = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+            dbUrl = "jdbc:h2:tcp://localhost:" + h2.getPort() + "/mem:shareit;DB_CLOSE_DELAY=-1";
+            dbUsername = "sa";
+            dbPassword = "";
+            serverArgs.add("--spring.datasource.driverClassName=org.h2.Driver");
+        }
+
+        int serverPort = freePort();
+        int gatewayPort = freePort();
+        serverArgs.add("--server.port=" + serverPort);
+        serverArgs.add("--spring.datasource.url=" + dbUrl);
+        serverArgs.add("--spring.datasource.username=" + dbUsername);
+        serverArgs.add("--spring.datasource.password=" + dbPassword);
+        gatewayArgs.add("--server.port=" + gatewayPort);
+        gatewayArgs.add("--shareit-server.url=http://localhost:" + serverPort);
+
+        try {
+            Workload workload;
+
+            log.info("Starting server on port {}", serverPort);
+
+            try (EmbeddedApplication server = EmbeddedApplication.start(apps.resolve("server.jar"), serverArgs)) {
+                try (Connection connection = DriverManager.getConnection(dbUrl, dbUsername, dbPassword)) {
+                    new DatasetGenerator(spec).generate(connection);
+                    workload = Workload.load(URI.create("http://localhost:" + gatewayPort), spec.getUsers(), connection);
+                }
+
+                log.info("Starting gateway on port {}", gatewayPort);
+
+                try (EmbeddedApplication gateway = EmbeddedApplication.start(apps.resolve("gateway.jar"), gatewayArgs)) {
+                    HttpClient client = HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_1_1)
+                            .connectTimeout(Duration.ofSeconds(5))
+                            .build();
+                    LoadGenerator generator = new LoadGenerator(client, workload, mix, new Random(spec.getSeed()));
+
+                    if (!warmup.isZero()) {
+                        log.info("Warming up for {} s at {} rps", warmup.getSeconds(), rps);
+                        generator.run(rps, warmup);
+                    }
+
+                    log.info("Running {} for {} s at {} rps", mix, duration.getSeconds(), rps);
+                    LoadReport report = generator.run(rps, duration);
+
+                    report.print(System.out);
+                    new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+                    log.info("Report saved to {}", reportFile.toAbsolutePath());
+                }
+            }
+        } finally {
+            if (h2 != null) {
+                h2.stop();
+            }
+        }
+    }
+
+    private static Duration duration(String value) {
+        return Duration.parse("PT" + value.toUpperCase(Locale.ROOT));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * The build copies both executable jars to {@code target/apps}, next to this module's classes or jar.
+     */
+    private static Path defaultAppsDirectory() throws Exception {
+        Path location = Path.of(LoadTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+        return location.getParent().resolve("apps");
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Weighted set of endpoints. Either a preset name or a list like {@code item-search:70,item:30}.
+ */
+class TrafficMix {
+    static final Map<String, String> PRESETS = Map.of(
+            "search-heavy", "item-search:70,item:20,owner-items:10",
+            "owner-dashboard", "owner-items:40,owner-bookings:40,other-requests:20",
+            "booking-burst", "create-booking:50,booker-bookings:30,item:20",
+            "mixed", "item-search:35,item:20,owner-items:15,owner-bookings:10,booker-bookings:10,other-requests:5,create-booking:5"
+    );
+
+    private final List<Endpoint> endpoints;
+    private final int[] cumulativeWeights;
+    private final String description;
+
+    private TrafficMix(List<Endpoint> endpoints, int[] cumulativeWeights, String description) {
+        this.endpoints = endpoints;
+        this.cumulativeWeights = cumulativeWeights;
+        this.description = description;
+    }
+
+    static TrafficMix parse(String value) {
+        String weights = PRESETS.getOrDefault(value, value);
+        List<Endpoint> endpoints = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+
+        for (String part : weights.split(",")) {
+            String[] nameAndWeight = part.trim().split(":");
+
+            if (nameAndWeight.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight in traffic mix, got " + part);
+            }
+
+            int weight = Integer.parseInt(nameAndWeight[1]);
+
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Traffic mix weights must be positive, got " + part);
+            }
+
+            total += weight;
+            endpoints.add(endpoint(nameAndWeight[0]));
+            cumulative.add(total);
+        }
+
+        return new TrafficMix(List.copyOf(endpoints), cumulative.stream().mapToInt(Integer::intValue).toArray(), weights);
+    }
+
+    Endpoint pick(Random random) {
+        int target = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = Arrays.binarySearch(cumulativeWeights, target + 1);
+
+        return endpoints.get(index >= 0 ? index : -index - 1);
+    }
+
+    List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    private static Endpoint endpoint(String name) {
+        return Arrays.stream(Endpoint.values())
+                .filter(endpoint -> endpoint.getOptionName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint " + name + ", expected one of " + Arrays
+                        .stream(Endpoint.values())
+                        .map(Endpoint::getOptionName)
+                        .collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.load;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.datagen.DatasetGenerator;
+
+import java.net.URI;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Ids of the generated data set that requests are built from. Owners are picked in proportion to
+ * the number of items they have, so the owner endpoints see the same skew as the data.
+ */
+@RequiredArgsConstructor
+class Workload {
+    private final URI gateway;
+    private final int users;
+    private final long[] itemOwners;
+    private final long[] availableItems;
+
+    static Workload load(URI gateway, int users, Connection connection) throws SQLException {
+        List<Long> owners = new ArrayList<>();
+        List<Long> available = new ArrayList<>();
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT item_id, owner_id, available FROM item ORDER BY item_id")) {
+            while (resultSet.next()) {
+                owners.add(resultSet.getLong(2));
+
+                if (resultSet.getBoolean(3)) {
+                    available.add(resultSet.getLong(1));
+                }
+            }
+        }
+
+        return new Workload(
+                gateway,
+                users,
+                owners.stream().mapToLong(Long::longValue).toArray(),
+                available.stream().mapToLong(Long::longValue).toArray()
+        );
+    }
+
+    URI uri(String pathAndQuery) {
+        return gateway.resolve(pathAndQuery);
+    }
+
+    long randomUser(Random random) {
+        return random.nextInt(users) + 1;
+    }
+
+    long randomUserExcept(Random random, long excluded) {
+        long user = randomUser(random);
+
+        return user != excluded ? user : user % users + 1;
+    }
+
+    long randomItem(Random random) {
+        return random.nextInt(itemOwners.length) + 1;
+    }
+
+    long randomAvailableItem(Random random) {
+        return availableItems[random.nextInt(availableItems.length)];
+    }
+
+    long randomOwner(Random random) {
+        return itemOwners[random.nextInt(itemOwners.length)];
+    }
+
+    long ownerOf(long itemId) {
+        return itemOwners[(int) itemId - 1];
+    }
+
+    String randomWord(Random random) {
+        return DatasetGenerator.VOCABULARY.get(random.nextInt(DatasetGenerator.VOCABULARY.size()));
+    }
+}
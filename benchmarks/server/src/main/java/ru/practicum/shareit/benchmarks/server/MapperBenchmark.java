@@ -0,0 +1,121 @@
+package ru.practicum.shareit.benchmarks.server;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.ItemBookingDto;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
+import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.comment.CommentMapper;
+import ru.practicum.shareit.comment.dto.CommentDto;
+import ru.practicum.shareit.comment.dto.ItemCommentDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.Request;
+import ru.practicum.shareit.request.RequestMapper;
+import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    private final ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
+    private final BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
+    private final CommentMapper commentMapper = Mappers.getMapper(CommentMapper.class);
+    private final RequestMapper requestMapper = Mappers.getMapper(RequestMapper.class);
+
+    private Item item;
+    private Booking booking;
+    private Comment comment;
+    private Request request;
+    private ItemBookingDto itemBooking;
+    private ItemCommentDto itemComment;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = User.builder().id(1L).name("Owner").email("owner@shareit.test").build();
+        User booker = User.builder().id(2L).name("Booker").email("booker@shareit.test").build();
+
+        request = Request.builder()
+                .id(1L)
+                .description("Looking for a cordless drill")
+                .created(now)
+                .user(booker)
+                .build();
+        item = Item.builder()
+                .id(1L)
+                .name("Drill")
+                .description("Cordless drill with two batteries")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build();
+        booking = Booking.builder()
+                .id(1L)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build();
+        comment = Comment.builder()
+                .id(1L)
+                .text("Works great")
+                .item(item)
+                .author(booker)
+                .created(now)
+                .build();
+        itemBooking = new ItemBookingDto(1L, 1L, 2L, now.plusDays(1), now.plusDays(2));
+        itemComment = new ItemCommentDto(1L, 1L, "Works great", "Booker", now);
+    }
+
+    @Benchmark
+    public ItemDto itemToItemDto() {
+        return itemMapper.itemToItemDto(item);
+    }
+
+    @Benchmark
+    public ShortBookingDto bookingToShortBookingDto() {
+        return bookingMapper.bookingToShortBookingDto(booking);
+    }
+
+    @Benchmark
+    public ShortBookingDto itemBookingDtoToShortBookingDto() {
+        return bookingMapper.itemBookingDtoToShortBookingDto(itemBooking);
+    }
+
+    @Benchmark
+    public CommentDto commentToCommentDto() {
+        return commentMapper.commentToCommentDto(comment);
+    }
+
+    @Benchmark
+    public CommentDto itemCommentDtoToCommentDto() {
+        return commentMapper.itemCommentDtoToCommentDto(itemComment);
+    }
+
+    @Benchmark
+    public RequestDto requestToRequestDto() {
+        return requestMapper.requestToRequestDto(request);
+    }
+}
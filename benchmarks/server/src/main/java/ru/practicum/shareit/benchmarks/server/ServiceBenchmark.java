@@ -0,0 +1,148 @@
+package ru.practicum.shareit.benchmarks.server;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.datagen.DatasetGenerator;
+import ru.practicum.shareit.datagen.DatasetSpec;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of the server services against a database filled by {@link DatasetGenerator}. H2 runs
+ * in memory out of the box; {@code -p database=postgres} needs {@code -Dshareit.benchmark.datasource.url}
+ * pointing to a disposable PostgreSQL database, which is truncated before seeding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ServiceBenchmark {
+    private static final String DATASOURCE_URL = "shareit.benchmark.datasource.url";
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Param({"h2"})
+    private String database;
+
+    @Param({"10000"})
+    private int users;
+
+    @Param({"100000"})
+    private int items;
+
+    @Param({"1000000"})
+    private int bookings;
+
+    @Param({"1.1"})
+    private double ownerSkew;
+
+    @Param({"1.0"})
+    private double bookingSkew;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private long[] itemOwners;
+
+    @Setup
+    public void setUp() {
+        List<String> args = new ArrayList<>(List.of(
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"
+        ));
+
+        if ("postgres".equals(database)) {
+            String url = System.getProperty(DATASOURCE_URL);
+
+            if (url == null) {
+                throw new IllegalStateException("Set -D" + DATASOURCE_URL + " to a disposable PostgreSQL database");
+            }
+
+            args.add("--spring.datasource.url=" + url);
+            args.add("--spring.datasource.username=" + System.getProperty("shareit.benchmark.datasource.username", "postgres"));
+            args.add("--spring.datasource.password=" + System.getProperty("shareit.benchmark.datasource.password", "postgres"));
+        } else {
+            args.add("--spring.profiles.active=test");
+        }
+
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+
+        DatasetSpec spec = DatasetSpec.builder()
+                .users(users)
+                .items(items)
+                .bookings(bookings)
+                .ownerSkew(ownerSkew)
+                .bookingSkew(bookingSkew)
+                .build();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            new DatasetGenerator(spec).generate(connection);
+            return null;
+        });
+        itemOwners = jdbcTemplate.queryForList("SELECT owner_id FROM item", Long.class)
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> itemsByOwner() {
+        return itemService.getByUserId(randomOwner(), FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<ItemDto> itemSearch() {
+        List<String> vocabulary = DatasetGenerator.VOCABULARY;
+
+        return itemService.search(vocabulary.get(ThreadLocalRandom.current().nextInt(vocabulary.size())), FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<Booking> bookingsByOwner() {
+        return bookingService.getAllByOwner(randomOwner(), BookingState.ALL, FIRST_PAGE);
+    }
+
+    /**
+     * Picks owners in proportion to the number of items they have, like real dashboard traffic.
+     */
+    private long randomOwner() {
+        return itemOwners[ThreadLocalRandom.current().nextInt(itemOwners.length)];
+    }
+}
@@ -1,58 +1,66 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.UpdateBookingsDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
     }
 
-    public ResponseEntity<Object> getAllByBooker(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Object getAllByBooker(long userId, BookingState state, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("?state={state}&from={from}&size={size}", parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllByOwner(long ownerId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Object getAllByOwner(long ownerId, BookingState state, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
+        ));
+        return get(withCursor("/owner?state={state}&from={from}&size={size}", parameters, after), ownerId, parameters);
     }
 
-    public ResponseEntity<Object> getById(long userId, Long bookingId) {
+    public ResponseEntity<StreamingResponseBody> exportAllByBooker(long userId, BookingState state) {
+        return stream("/export?state={state}", userId, Map.of("state", state.name()));
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportAllByOwner(long ownerId, BookingState state) {
+        return stream("/owner/export?state={state}", ownerId, Map.of("state", state.name()));
+    }
+
+    public Object getById(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> create(long userId, CreateBookingDto requestDto) {
+    public Object create(long userId, CreateBookingDto requestDto) {
         return post("/", userId, requestDto);
     }
 
-    public ResponseEntity<Object> update(long bookingId, long ownerId, boolean approved) {
+    public Object update(long bookingId, long ownerId, boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", ownerId, parameters, null);
     }
+
+    public Object updateAll(long ownerId, boolean approved, UpdateBookingsDto requestDto) {
+        Map<String, Object> parameters = Map.of("approved", approved);
+        return patch("?approved={approved}", ownerId, parameters, requestDto);
+    }
 }
@@ -13,8 +13,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.UpdateBookingsDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -30,37 +32,59 @@ public class BookingController {
 	private final BookingClient bookingClient;
 
 	@GetMapping
-	public ResponseEntity<Object> getAllByBooker(
+	public Object getAllByBooker(
 			@RequestHeader(USER_ID_HEADER) long userId,
 			@RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-			@Positive @RequestParam(name = "size", defaultValue = "20") Integer size
+			@Positive @RequestParam(name = "size", defaultValue = "20") Integer size,
+			@RequestParam(required = false) String after
 	) {
 		BookingState state = checkBookingState(stateParam);
-		log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getAllByBooker(userId, state, from, size);
+		log.info("Get booking with state {}, userId={}, from={}, size={}, after={}", stateParam, userId, from, size, after);
+		return bookingClient.getAllByBooker(userId, state, from, size, after);
 	}
 
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getAllByOwner(
+	public Object getAllByOwner(
 			@RequestHeader(USER_ID_HEADER) long ownerId,
 			@RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-			@Positive @RequestParam(name = "size", defaultValue = "20") Integer size
+			@Positive @RequestParam(name = "size", defaultValue = "20") Integer size,
+			@RequestParam(required = false) String after
 	) {
 		BookingState state = checkBookingState(stateParam);
-		log.info("Get booking with state {}, ownerId={}, from={}, size={}", stateParam, ownerId, from, size);
-		return bookingClient.getAllByOwner(ownerId, state, from, size);
+		log.info("Get booking with state {}, ownerId={}, from={}, size={}, after={}", stateParam, ownerId, from, size, after);
+		return bookingClient.getAllByOwner(ownerId, state, from, size, after);
+	}
+
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportAllByBooker(
+			@RequestHeader(USER_ID_HEADER) long userId,
+			@RequestParam(name = "state", defaultValue = "all") String stateParam
+	) {
+		BookingState state = checkBookingState(stateParam);
+		log.info("Export bookings with state {}, userId={}", stateParam, userId);
+		return bookingClient.exportAllByBooker(userId, state);
+	}
+
+	@GetMapping("/owner/export")
+	public ResponseEntity<StreamingResponseBody> exportAllByOwner(
+			@RequestHeader(USER_ID_HEADER) long ownerId,
+			@RequestParam(name = "state", defaultValue = "all") String stateParam
+	) {
+		BookingState state = checkBookingState(stateParam);
+		log.info("Export bookings with state {}, ownerId={}", stateParam, ownerId);
+		return bookingClient.exportAllByOwner(ownerId, state);
 	}
 
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getById(@RequestHeader(USER_ID_HEADER) long userId, @PathVariable Long bookingId) {
+	public Object getById(@RequestHeader(USER_ID_HEADER) long userId, @PathVariable Long bookingId) {
 		log.info("Get booking {}, userId={}", bookingId, userId);
 		return bookingClient.getById(userId, bookingId);
 	}
 
 	@PostMapping
-	public ResponseEntity<Object> create(
+	public Object create(
 			@RequestHeader(USER_ID_HEADER) long userId,
 			@RequestBody @Valid CreateBookingDto requestDto
 	) {
@@ -69,7 +93,7 @@ public class BookingController {
 	}
 
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> update(
+	public Object update(
 			@PathVariable long bookingId,
 			@RequestHeader(USER_ID_HEADER) long ownerId,
 			@RequestParam boolean approved
@@ -78,6 +102,16 @@ public class BookingController {
 		return bookingClient.update(bookingId, ownerId, approved);
 	}
 
+	@PatchMapping
+	public Object updateAll(
+			@RequestHeader(USER_ID_HEADER) long ownerId,
+			@RequestParam boolean approved,
+			@RequestBody @Valid UpdateBookingsDto requestDto
+	) {
+		log.info("Update bookings {}, approved={}, userId={}", requestDto.getBookingIds(), approved, ownerId);
+		return bookingClient.updateAll(ownerId, approved, requestDto);
+	}
+
 	private BookingState checkBookingState(String stateParam) {
 		return BookingState.from(stateParam).orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
 	}
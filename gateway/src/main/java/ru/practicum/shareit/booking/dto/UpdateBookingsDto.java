@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateBookingsDto {
+	@NotEmpty(message = "BookingIds are required")
+	@Size(max = 100, message = "No more than 100 bookings can be updated at once")
+	List<@NotNull Long> bookingIds;
+}
@@ -5,81 +5,163 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Proxied calls return a {@code ResponseEntity} in blocking mode and a {@code Mono} of one in reactive mode.
+ * Spring MVC picks the return value handler by the runtime type, so blocking calls are written on the
+ * request thread without an async dispatch.
+ */
 public class BaseClient {
+    private static final List<String> PASSTHROUGH_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, "X-Next-Cursor");
+
     protected final RestTemplate rest;
+    protected final WebClient webClient;
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    public BaseClient(ServerClientFactory clientFactory, String apiPrefix) {
+        this.rest = clientFactory.restTemplate(apiPrefix);
+        this.webClient = clientFactory.webClient(apiPrefix);
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Object get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Object get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Object get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected <T> Object post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Object post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Object post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Object put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Object put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Object patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Object patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Object patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Object patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Object delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Object delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Object delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(
+    protected ResponseEntity<StreamingResponseBody> stream(String path, long userId, Map<String, Object> parameters) {
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters);
+        ClientHttpResponse response = null;
+
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, HttpMethod.GET);
+            request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+            request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+            response = request.execute();
+
+            ClientHttpResponse upstream = response;
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(upstream.getRawStatusCode());
+            MediaType contentType = upstream.getHeaders().getContentType();
+
+            if (contentType != null) {
+                responseBuilder.contentType(contentType);
+            }
+
+            return responseBuilder.body(outputStream -> {
+                try (upstream) {
+                    StreamUtils.copy(upstream.getBody(), outputStream);
+                }
+            });
+        } catch (IOException e) {
+            if (response != null) {
+                response.close();
+            }
+
+            throw new ResourceAccessException("I/O error on GET request for \"" + uri + "\": " + e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static Mono<ResponseEntity<Object>> toMono(Object response) {
+        if (response instanceof Mono) {
+            return (Mono<ResponseEntity<Object>>) response;
+        }
+
+        return Mono.just((ResponseEntity<Object>) response);
+    }
+
+    protected static String withCursor(String path, Map<String, Object> parameters, @Nullable String after) {
+        if (after == null) {
+            return path;
+        }
+
+        parameters.put("after", after);
+        return path + "&after={after}";
+    }
+
+    private <T> Object makeAndSendRequest(
+            HttpMethod method,
+            String path,
+            Long userId,
+            @Nullable Map<String, Object> parameters,
+            @Nullable T body
+    ) {
+        if (webClient != null) {
+            return exchange(method, path, userId, parameters, body);
+        }
+
+        return exchangeBlocking(method, path, userId, parameters, body);
+    }
+
+    private <T> ResponseEntity<Object> exchangeBlocking(
             HttpMethod method,
             String path,
             Long userId,
@@ -87,19 +169,43 @@ public class BaseClient {
             @Nullable T body
     ) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-        ResponseEntity<Object> response;
+        ResponseEntity<byte[]> response;
 
         try {
             if (parameters != null) {
-                response = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                response = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                response = rest.exchange(path, method, requestEntity, Object.class);
+                response = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getRawStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
 
-        return prepareGatewayResponse(response);
+        return prepareGatewayResponse(response.getStatusCodeValue(), response.getHeaders(), response.getBody());
+    }
+
+    private <T> Mono<ResponseEntity<Object>> exchange(
+            HttpMethod method,
+            String path,
+            Long userId,
+            @Nullable Map<String, Object> parameters,
+            @Nullable T body
+    ) {
+        WebClient.RequestBodySpec request = webClient
+                .method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+
+        return requestWithBody.exchangeToMono(response -> {
+            int status = response.rawStatusCode();
+            HttpHeaders headers = response.headers().asHttpHeaders();
+
+            return response
+                    .bodyToMono(byte[].class)
+                    .map(bytes -> prepareGatewayResponse(status, headers, bytes))
+                    .defaultIfEmpty(prepareGatewayResponse(status, headers, null));
+        });
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -114,17 +220,27 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private static ResponseEntity<Object> prepareGatewayResponse(
+            int status,
+            @Nullable HttpHeaders headers,
+            @Nullable byte[] body
+    ) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+
+        if (headers != null) {
+            for (String name : PASSTHROUGH_HEADERS) {
+                List<String> values = headers.get(name);
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+                if (values != null) {
+                    responseBuilder.header(name, values.toArray(new String[0]));
+                }
+            }
+        }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body == null || body.length == 0) {
+            return responseBuilder.build();
         }
 
-        return responseBuilder.build();
+        return responseBuilder.body(body);
     }
 }
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class InstrumentedConnectionManager extends PoolingHttpClientConnectionManager {
+    private static final String LEASE_TIMER = "shareit.gateway.http.pool.lease";
+
+    private final Timer leasedTimer;
+    private final Timer failedTimer;
+
+    public InstrumentedConnectionManager(MeterRegistry meterRegistry) {
+        this.leasedTimer = Timer.builder(LEASE_TIMER).tag("outcome", "leased").register(meterRegistry);
+        this.failedTimer = Timer.builder(LEASE_TIMER).tag("outcome", "failed").register(meterRegistry);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+        ConnectionRequest request = super.requestConnection(route, state);
+
+        return new ConnectionRequest() {
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+                long start = System.nanoTime();
+                Timer timer = failedTimer;
+
+                try {
+                    HttpClientConnection connection = request.get(timeout, timeUnit);
+                    timer = leasedTimer;
+                    return connection;
+                } finally {
+                    timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+public class ServerClientFactory {
+    private final String serverUrl;
+    private final RestTemplateBuilder restTemplateBuilder;
+    private final ClientHttpRequestFactory requestFactory;
+    private final WebClient.Builder webClientBuilder;
+    private final ClientHttpConnector httpConnector;
+
+    public ServerClientFactory(
+            String serverUrl,
+            RestTemplateBuilder restTemplateBuilder,
+            ClientHttpRequestFactory requestFactory,
+            WebClient.Builder webClientBuilder,
+            @Nullable ClientHttpConnector httpConnector
+    ) {
+        this.serverUrl = serverUrl;
+        this.restTemplateBuilder = restTemplateBuilder;
+        this.requestFactory = requestFactory;
+        this.webClientBuilder = webClientBuilder;
+        this.httpConnector = httpConnector;
+    }
+
+    public RestTemplate restTemplate(String apiPrefix) {
+        return restTemplateBuilder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + apiPrefix))
+                .requestFactory(() -> requestFactory)
+                .build();
+    }
+
+    @Nullable
+    public WebClient webClient(String apiPrefix) {
+        if (httpConnector == null) {
+            return null;
+        }
+
+        return webClientBuilder
+                .clone()
+                .baseUrl(serverUrl + apiPrefix)
+                .clientConnector(httpConnector)
+                .build();
+    }
+}
@@ -1,32 +1,27 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
 import ru.practicum.shareit.item.dto.CreateCommentDto;
 import ru.practicum.shareit.item.dto.CreateItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    private final ItemSearchCache searchCache;
+
+    public ItemClient(ServerClientFactory clientFactory, ItemSearchCache searchCache) {
+        super(clientFactory, API_PREFIX);
+        this.searchCache = searchCache;
     }
 
-    public ResponseEntity<Object> getByUserId(long userId, Integer from, Integer size) {
+    public Object getByUserId(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -34,32 +29,36 @@ public class ItemClient extends BaseClient {
         return get("/?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> search(String text, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "text", text,
-                "from", from,
-                "size", size
-        );
-        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+    public Object search(String text, Integer from, Integer size, String after) {
+        ItemSearchKey key = ItemSearchKey.of(text, from, size, after);
+
+        return searchCache.get(key, () -> {
+            Map<String, Object> parameters = new HashMap<>(Map.of(
+                    "text", key.getText(),
+                    "from", key.getFrom(),
+                    "size", key.getSize()
+            ));
+            return toMono(get(withCursor("/search?text={text}&from={from}&size={size}", parameters, key.getAfter()), null, parameters));
+        });
     }
 
-    public ResponseEntity<Object> getById(long requestId, long userId) {
+    public Object getById(long requestId, long userId) {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> create(long userId, CreateItemDto dto) {
+    public Object create(long userId, CreateItemDto dto) {
         return post("/", userId, dto);
     }
 
-    public ResponseEntity<Object> update(long requestId, long userId, UpdateItemDto dto) {
+    public Object update(long requestId, long userId, UpdateItemDto dto) {
         return patch("/" + requestId, userId, dto);
     }
 
-    public ResponseEntity<Object> delete(long requestId) {
+    public Object delete(long requestId) {
         return delete("/" + requestId);
     }
 
-    public ResponseEntity<Object> comment(long requestId, long userId, CreateCommentDto dto) {
+    public Object comment(long requestId, long userId, CreateCommentDto dto) {
         return post("/" + requestId + "/comment", userId, dto);
     }
 }
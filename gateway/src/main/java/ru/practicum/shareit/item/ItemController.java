@@ -35,7 +35,7 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @GetMapping
-    public ResponseEntity<Object> getByUserId(
+    public Object getByUserId(
             @RequestHeader(name = USER_ID_HEADER) long userId,
             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
             @Positive @RequestParam(defaultValue = "20") Integer size
@@ -44,26 +44,27 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(
+    public Object search(
             @RequestParam String text,
             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-            @Positive @RequestParam(defaultValue = "20") Integer size
+            @Positive @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String after
     ) {
         if (text.isBlank()) {
             return ResponseEntity.ok(Collections.emptyList());
         }
 
-        return itemClient.search(text, from, size);
+        return itemClient.search(text, from, size, after);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getById(@PathVariable long id, @RequestHeader(name = USER_ID_HEADER) long userId) {
+    public Object getById(@PathVariable long id, @RequestHeader(name = USER_ID_HEADER) long userId) {
         return itemClient.getById(id, userId);
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Object> create(
+    public Object create(
             @RequestHeader(name = USER_ID_HEADER) long userId,
             @Valid @RequestBody CreateItemDto dto
     ) {
@@ -71,7 +72,7 @@ public class ItemController {
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> update(
+    public Object update(
             @PathVariable long id,
             @RequestHeader(name = USER_ID_HEADER) long userId,
             @Valid @RequestBody UpdateItemDto dto
@@ -80,12 +81,12 @@ public class ItemController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> delete(@PathVariable long id) {
+    public Object delete(@PathVariable long id) {
         return itemClient.delete(id);
     }
 
     @PostMapping("/{id}/comment")
-    public ResponseEntity<Object> comment(
+    public Object comment(
             @PathVariable long id,
             @RequestHeader(name = USER_ID_HEADER) long userId,
             @Valid @RequestBody CreateCommentDto dto
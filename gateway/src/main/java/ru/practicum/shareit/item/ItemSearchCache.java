@@ -0,0 +1,45 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+@Component
+public class ItemSearchCache {
+    private static final String CACHE_NAME = "itemSearch";
+
+    private final AsyncCache<ItemSearchKey, ResponseEntity<Object>> cache;
+
+    public ItemSearchCache(@Value("${shareit.search.cache.spec}") String spec, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.from(spec).recordStats().buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("shareit.gateway.search.cache.hit.ratio", cache, searchCache -> searchCache.synchronous().stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    public Mono<ResponseEntity<Object>> get(ItemSearchKey key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        CompletableFuture<ResponseEntity<Object>> response = cache.get(key, (searchKey, executor) -> Mono.defer(loader)
+                .subscribeOn(Schedulers.boundedElastic())
+                .toFuture());
+
+        CompletableFuture<ResponseEntity<Object>> checked = response.whenComplete((entity, error) -> {
+            if (entity != null && !entity.getStatusCode().is2xxSuccessful()) {
+                cache.asMap().remove(key, response);
+            }
+        });
+
+        return Mono.fromFuture(checked);
+    }
+}
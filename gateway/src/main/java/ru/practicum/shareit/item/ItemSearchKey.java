@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item;
+
+import lombok.Value;
+
+import java.util.Locale;
+
+@Value
+public class ItemSearchKey {
+    String text;
+    int from;
+    int size;
+    String after;
+
+    public static ItemSearchKey of(String text, int from, int size, String after) {
+        return new ItemSearchKey(text.trim().toLowerCase(Locale.ROOT), from, size, after);
+    }
+}
@@ -1,46 +1,47 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
 import ru.practicum.shareit.request.dto.CreateRequestDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
+    private static final int DEFAULT_PAGE_SIZE = 20;
 
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public RequestClient(ServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
     }
 
-    public ResponseEntity<Object> createRequest(CreateRequestDto dto, long userId) {
+    public Object createRequest(CreateRequestDto dto, long userId) {
         return post("/", userId, dto);
     }
 
-    public ResponseEntity<Object> getOwnRequests(long userId) {
-        return get("/", userId);
+    public Object getOwnRequests(long userId, Integer from, Integer size, String after) {
+        if (size == null && after == null) {
+            return get("/", userId);
+        }
+
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "from", from == null ? 0 : from,
+                "size", size == null ? DEFAULT_PAGE_SIZE : size
+        ));
+        return get(withCursor("?from={from}&size={size}", parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> getOtherRequests(long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Object getOtherRequests(long userId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("/all?from={from}&size={size}", parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> getById(long requestId, long userId) {
+    public Object getById(long requestId, long userId) {
         return get("/" + requestId, userId);
     }
 }
@@ -2,7 +2,6 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -28,7 +27,7 @@ public class RequestController {
     private final RequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createRequest(
+    public Object createRequest(
             @RequestHeader(name = USER_ID_HEADER) long userId,
             @Valid @RequestBody CreateRequestDto dto
     ) {
@@ -36,21 +35,27 @@ public class RequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getOwnRequests(@RequestHeader(name = USER_ID_HEADER) long userId) {
-        return requestClient.getOwnRequests(userId);
+    public Object getOwnRequests(
+            @RequestHeader(name = USER_ID_HEADER) long userId,
+            @PositiveOrZero @RequestParam(required = false) Integer from,
+            @Positive @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after
+    ) {
+        return requestClient.getOwnRequests(userId, from, size, after);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getOtherRequests(
+    public Object getOtherRequests(
             @RequestHeader(name = USER_ID_HEADER) long userId,
             @PositiveOrZero @RequestParam(defaultValue = "0") Integer from,
-            @Positive @RequestParam(defaultValue = "20") Integer size
+            @Positive @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String after
     ) {
-        return requestClient.getOtherRequests(userId, from, size);
+        return requestClient.getOtherRequests(userId, from, size, after);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getById(@PathVariable long requestId, @RequestHeader(name = USER_ID_HEADER) long userId) {
+    public Object getById(@PathVariable long requestId, @RequestHeader(name = USER_ID_HEADER) long userId) {
         return requestClient.getById(requestId, userId);
     }
 }
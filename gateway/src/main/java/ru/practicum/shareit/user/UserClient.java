@@ -1,12 +1,8 @@
 package ru.practicum.shareit.user;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientFactory;
 import ru.practicum.shareit.user.dto.CreateUserDto;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
 
@@ -14,32 +10,27 @@ import ru.practicum.shareit.user.dto.UpdateUserDto;
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(ServerClientFactory clientFactory) {
+        super(clientFactory, API_PREFIX);
     }
 
-   public ResponseEntity<Object> getAll() {
+   public Object getAll() {
         return get("/");
    }
 
-    public ResponseEntity<Object> getById(long userId) {
+    public Object getById(long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> create(CreateUserDto dto) {
+    public Object create(CreateUserDto dto) {
         return post("/", dto);
     }
 
-    public ResponseEntity<Object> update(long userId, UpdateUserDto dto) {
+    public Object update(long userId, UpdateUserDto dto) {
         return patch("/" + userId, dto);
     }
 
-    public ResponseEntity<Object> delete(long userId) {
+    public Object delete(long userId) {
         return delete("/" + userId);
     }
 }
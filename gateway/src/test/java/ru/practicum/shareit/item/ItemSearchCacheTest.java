@@ -0,0 +1,100 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemSearchCacheTest {
+    private static final int CALLERS = 8;
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final ItemSearchCache cache = new ItemSearchCache("maximumSize=100,expireAfterWrite=1m", new SimpleMeterRegistry());
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void get_shouldLoadOnceForConcurrentIdenticalKeys() throws Exception {
+        ItemSearchKey key = ItemSearchKey.of("drill", 0, 20, null);
+        CountDownLatch requested = new CountDownLatch(CALLERS);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<ResponseEntity<Object>>> results = new ArrayList<>();
+
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                Mono<ResponseEntity<Object>> response = cache.get(key, loader(() -> {
+                    await(release);
+                    return ResponseEntity.ok("page");
+                }));
+                requested.countDown();
+                return response.block(TIMEOUT);
+            }));
+        }
+        assertThat(requested.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+
+        for (Future<ResponseEntity<Object>> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS).getBody()).isEqualTo("page");
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void get_shouldNotServeServerErrorFromCache() {
+        ItemSearchKey key = ItemSearchKey.of("drill", 0, 20, null);
+
+        ResponseEntity<Object> failed = cache.get(key, loader(() -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build()))
+                .block(TIMEOUT);
+        ResponseEntity<Object> retried = cache.get(key, loader(() -> ResponseEntity.ok("page")))
+                .block(TIMEOUT);
+
+        assertThat(failed.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_shouldShareEntryForTextDifferingInCaseAndSurroundingSpaces() {
+        cache.get(ItemSearchKey.of(" Drill ", 0, 20, null), loader(() -> ResponseEntity.ok("page"))).block(TIMEOUT);
+        ResponseEntity<Object> response = cache.get(ItemSearchKey.of("drill", 0, 20, null), loader(() -> ResponseEntity.ok("other")))
+                .block(TIMEOUT);
+
+        assertThat(response.getBody()).isEqualTo("page");
+        assertThat(loads).hasValue(1);
+    }
+
+    private Supplier<Mono<ResponseEntity<Object>>> loader(Supplier<ResponseEntity<Object>> response) {
+        return () -> {
+            loads.incrementAndGet();
+            return Mono.fromSupplier(response);
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking;
+
+public class BookingConflictException extends RuntimeException {
+    public BookingConflictException(long itemId) {
+        super("Item with id=" + itemId + " is already booked for this time");
+    }
+}
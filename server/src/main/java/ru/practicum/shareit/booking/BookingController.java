@@ -2,6 +2,8 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,7 +14,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingUpdateResultDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.UpdateBookingsDto;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.core.pagination.CursorResponse;
 import ru.practicum.shareit.core.pagination.PaginationMapper;
 
 import java.util.List;
@@ -23,25 +30,62 @@ import java.util.List;
 public class BookingController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
     private final BookingService bookingService;
+    private final BookingExporter bookingExporter;
 
     @GetMapping
-    public List<Booking> getAllByBooker(
+    public ResponseEntity<List<Booking>> getAllByBooker(
             @RequestHeader(USER_ID_HEADER) long bookerId,
             @RequestParam(defaultValue = "ALL") BookingState state,
             @RequestParam(required = false) Integer from,
-            @RequestParam(required = false) Integer size
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after
     ) {
-        return bookingService.getAllByBooker(bookerId, state, PaginationMapper.toPageable(from, size));
+        if (after != null) {
+            int limit = PaginationMapper.toLimit(size);
+            List<Booking> bookings = bookingService.getAllByBooker(bookerId, state, Cursor.decode(after, true), limit);
+
+            return CursorResponse.of(bookings, limit, BookingController::toCursor);
+        }
+
+        List<Booking> bookings = bookingService.getAllByBooker(bookerId, state, PaginationMapper.toPageable(from, size));
+
+        return CursorResponse.of(bookings, size, BookingController::toCursor);
     }
 
     @GetMapping("/owner")
-    public List<Booking> getAllByOwner(
+    public ResponseEntity<List<Booking>> getAllByOwner(
             @RequestHeader(USER_ID_HEADER) long ownerId,
             @RequestParam(defaultValue = "ALL") BookingState state,
             @RequestParam(required = false) Integer from,
-            @RequestParam(required = false) Integer size
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after
+    ) {
+        if (after != null) {
+            int limit = PaginationMapper.toLimit(size);
+            List<Booking> bookings = bookingService.getAllByOwner(ownerId, state, Cursor.decode(after, true), limit);
+
+            return CursorResponse.of(bookings, limit, BookingController::toCursor);
+        }
+
+        List<Booking> bookings = bookingService.getAllByOwner(ownerId, state, PaginationMapper.toPageable(from, size));
+
+        return CursorResponse.of(bookings, size, BookingController::toCursor);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllByBooker(
+            @RequestHeader(USER_ID_HEADER) long bookerId,
+            @RequestParam(defaultValue = "ALL") BookingState state
+    ) {
+        return export(bookingService.getExportFilter(BookingParty.BOOKER, bookerId, state));
+    }
+
+    @GetMapping(value = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAllByOwner(
+            @RequestHeader(USER_ID_HEADER) long ownerId,
+            @RequestParam(defaultValue = "ALL") BookingState state
     ) {
-        return bookingService.getAllByOwner(ownerId, state, PaginationMapper.toPageable(from, size));
+        return export(bookingService.getExportFilter(BookingParty.OWNER, ownerId, state));
     }
 
     @GetMapping("/{bookingId}")
@@ -63,4 +107,24 @@ public class BookingController {
     ) {
         return bookingService.update(bookingId, ownerId, approved);
     }
+
+    @PatchMapping
+    public List<BookingUpdateResultDto> updateAll(
+            @RequestHeader(USER_ID_HEADER) long ownerId,
+            @RequestParam boolean approved,
+            @RequestBody UpdateBookingsDto dto
+    ) {
+        return bookingService.updateAll(ownerId, dto.getBookingIds(), approved);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(BookingFilter filter) {
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> bookingExporter.export(filter, outputStream));
+    }
+
+    private static Cursor toCursor(Booking booking) {
+        return Cursor.of(booking.getStart(), booking.getId());
+    }
 }
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class BookingExporter {
+    private static final int FETCH_SIZE = 500;
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long export(BookingFilter filter, OutputStream outputStream) throws IOException {
+        long count = 0;
+
+        try (Stream<Booking> bookings = bookingRepository.streamAll(filter, FETCH_SIZE)) {
+            Iterator<Booking> iterator = bookings.iterator();
+
+            while (iterator.hasNext()) {
+                outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                outputStream.write(LINE_SEPARATOR);
+
+                if (++count % FETCH_SIZE == 0) {
+                    outputStream.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+
+        outputStream.flush();
+
+        return count;
+    }
+}
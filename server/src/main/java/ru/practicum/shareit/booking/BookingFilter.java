@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Builder;
+import lombok.Value;
+import ru.practicum.shareit.core.pagination.Cursor;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class BookingFilter {
+    BookingParty party;
+    long userId;
+    BookingState state;
+    LocalDateTime now;
+    Cursor after;
+}
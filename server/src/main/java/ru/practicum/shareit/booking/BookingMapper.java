@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.ItemBookingDto;
 import ru.practicum.shareit.booking.dto.ShortBookingDto;
 
 @Mapper(componentModel = "spring")
@@ -11,4 +12,6 @@ public interface BookingMapper {
 
     @Mapping(target = "bookerId", source = "booking.booker.id")
     ShortBookingDto bookingToShortBookingDto(Booking booking);
+
+    ShortBookingDto itemBookingDtoToShortBookingDto(ItemBookingDto booking);
 }
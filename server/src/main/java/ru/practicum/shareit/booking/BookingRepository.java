@@ -2,40 +2,70 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.ItemBookingDto;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBookerIdOrderByStartDesc(long bookerId, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    @Query("select new ru.practicum.shareit.booking.dto.ShortBookingDto(b.id, b.booker.id) " +
+            "from Booking b " +
+            "where b.item.id = ?1 and b.status = ?2 and b.start > ?3 " +
+            "order by b.start asc")
+    List<ShortBookingDto> findNextBookings(long itemId, BookingStatus status, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            long bookerId,
-            LocalDateTime start,
-            LocalDateTime end,
-            Pageable pageable
-    );
+    @Query("select new ru.practicum.shareit.booking.dto.ShortBookingDto(b.id, b.booker.id) " +
+            "from Booking b " +
+            "where b.item.id = ?1 and b.status = ?2 and b.end < ?3 " +
+            "order by b.start desc")
+    List<ShortBookingDto> findLastBookings(long itemId, BookingStatus status, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(long bookerId, LocalDateTime end, Pageable pageable);
+    @Query("select new ru.practicum.shareit.booking.dto.ItemBookingDto(b.item.id, b.id, b.booker.id, b.start, b.end) " +
+            "from Booking b " +
+            "where b.item.id in ?1 and b.status = ?2 " +
+            "and (b.start = (select min(nb.start) from Booking nb " +
+            "where nb.item = b.item and nb.status = ?2 and nb.start > ?3) " +
+            "or b.start = (select max(lb.start) from Booking lb " +
+            "where lb.item = b.item and lb.status = ?2 and lb.end < ?3))")
+    List<ItemBookingDto> findLastAndNextByItemIds(Collection<Long> itemIds, BookingStatus status, LocalDateTime now);
 
-    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(long bookerId, LocalDateTime start, Pageable pageable);
+    @Query("select count(b) > 0 " +
+            "from Booking b " +
+            "where b.item.id = ?1 and b.status in ?2 and b.start < ?4 and b.end > ?3")
+    boolean existsOverlapping(long itemId, Collection<BookingStatus> statuses, LocalDateTime start, LocalDateTime end);
 
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(long bookerId, BookingStatus status, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b.id " +
+            "from Booking b " +
+            "where b.id in ?1 " +
+            "and b.item.id in (select i.id from Item i where i.owner.id = ?2) " +
+            "order by b.id")
+    List<Long> lockAllByIdInAndOwnerId(Collection<Long> bookingIds, long ownerId);
 
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(long ownerId, Pageable pageable);
+    @Query("select b " +
+            "from Booking b " +
+            "join fetch b.item i " +
+            "join fetch i.owner " +
+            "left join fetch i.request r " +
+            "left join fetch r.user " +
+            "join fetch b.booker " +
+            "where b.id in ?1")
+    List<Booking> findAllWithItemById(Collection<Long> bookingIds);
 
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            long ownerId,
-            LocalDateTime start,
-            LocalDateTime end,
-            Pageable pageable
-    );
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b " +
+            "set b.status = ?4 " +
+            "where b.id = ?1 and b.status = ?3 " +
+            "and b.item.id in (select i.id from Item i where i.owner.id = ?2)")
+    int updateStatus(long bookingId, long ownerId, BookingStatus from, BookingStatus to);
 
-    List<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(long ownerId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(long ownerId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(long ownerId, BookingStatus status, Pageable pageable);
-
-    List<Booking> findAllByItemIdOrderByStartAsc(long itemId);
+    boolean existsByItemIdAndBookerIdAndEndBefore(long itemId, long bookerId, LocalDateTime end);
 }
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingRepositoryCustom {
+    List<Booking> findAll(BookingFilter filter, Pageable pageable);
+
+    Stream<Booking> streamAll(BookingFilter filter, int fetchSize);
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.QueryHints;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.item.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Booking> findAll(BookingFilter filter, Pageable pageable) {
+        TypedQuery<Booking> query = createQuery(filter);
+
+        if (pageable != null) {
+            query
+                    .setFirstResult((int) pageable.getOffset())
+                    .setMaxResults(pageable.getPageSize());
+        }
+
+        return query.getResultList();
+    }
+
+    @Override
+    public Stream<Booking> streamAll(BookingFilter filter, int fetchSize) {
+        return createQuery(filter)
+                .setHint(QueryHints.FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @SuppressWarnings("unchecked")
+    private TypedQuery<Booking> createQuery(BookingFilter filter) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = builder.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = (Join<Booking, Item>) booking.<Booking, Item>fetch("item", JoinType.INNER);
+        item.fetch("owner", JoinType.INNER);
+        item.fetch("request", JoinType.LEFT).fetch("user", JoinType.LEFT);
+        booking.fetch("booker", JoinType.INNER);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(byParty(builder, booking, item, filter.getParty(), filter.getUserId()));
+        predicates.add(byState(builder, booking, filter.getState(), filter.getNow()));
+
+        if (filter.getAfter() != null) {
+            predicates.add(startedBefore(builder, booking, filter.getAfter()));
+        }
+
+        query
+                .select(booking)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(builder.desc(booking.get("start")), builder.desc(booking.get("id")));
+
+        return entityManager.createQuery(query);
+    }
+
+    private static Predicate byParty(
+            CriteriaBuilder builder,
+            Root<Booking> booking,
+            Join<Booking, Item> item,
+            BookingParty party,
+            long userId
+    ) {
+        switch (party) {
+            case BOOKER:
+                return builder.equal(booking.get("booker").get("id"), userId);
+            case OWNER:
+                return builder.equal(item.get("owner").get("id"), userId);
+            default:
+                throw new IllegalArgumentException("Unknown booking party: " + party);
+        }
+    }
+
+    private static Predicate byState(CriteriaBuilder builder, Root<Booking> booking, BookingState state, LocalDateTime now) {
+        switch (state) {
+            case ALL:
+                return builder.conjunction();
+            case CURRENT:
+                return builder.and(
+                        builder.lessThan(booking.get("start"), now),
+                        builder.greaterThan(booking.get("end"), now)
+                );
+            case PAST:
+                return builder.lessThan(booking.get("end"), now);
+            case FUTURE:
+                return builder.greaterThan(booking.get("start"), now);
+            case WAITING:
+                return builder.equal(booking.get("status"), BookingStatus.WAITING);
+            case REJECTED:
+                return builder.equal(booking.get("status"), BookingStatus.REJECTED);
+            default:
+                throw new UnsupportedStatusException();
+        }
+    }
+
+    private static Predicate startedBefore(CriteriaBuilder builder, Root<Booking> booking, Cursor after) {
+        return builder.or(
+                builder.lessThan(booking.get("start"), after.getTimestamp()),
+                builder.and(
+                        builder.equal(booking.get("start"), after.getTimestamp()),
+                        builder.lessThan(booking.get("id"), after.getId())
+                )
+        );
+    }
+}
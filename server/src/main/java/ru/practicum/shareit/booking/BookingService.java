@@ -1,109 +1,65 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingUpdateResultDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.core.cache.EntityChangedEvent;
+import ru.practicum.shareit.core.cache.EntityType;
 import ru.practicum.shareit.core.exception.FieldValidationException;
 import ru.practicum.shareit.core.exception.NotFoundException;
+import ru.practicum.shareit.core.pagination.Cursor;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
+    private static final Set<BookingStatus> BLOCKING_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final String OVERLAP_CONSTRAINT = "booking_item_period_excl";
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
     private final UserService userService;
     private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Booking> getAllByBooker(long bookerId, BookingState state, Pageable pageable) {
-        userService.getById(bookerId);
-
-        switch (state) {
-            case ALL:
-                return bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId, pageable);
-            case CURRENT:
-                return bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        bookerId,
-                        LocalDateTime.now(),
-                        LocalDateTime.now(),
-                        pageable
-                );
-            case PAST:
-                return bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(
-                        bookerId,
-                        LocalDateTime.now(),
-                        pageable
-                );
-            case FUTURE:
-                return bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(
-                        bookerId,
-                        LocalDateTime.now(),
-                        pageable
-                );
-            case WAITING:
-                return bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(
-                        bookerId,
-                        BookingStatus.WAITING,
-                        pageable
-                );
-            case REJECTED:
-                return bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(
-                        bookerId,
-                        BookingStatus.REJECTED,
-                        pageable
-                );
-            default:
-                throw new UnsupportedStatusException();
-        }
+        return getAll(BookingParty.BOOKER, bookerId, state, null, pageable);
+    }
+
+    public List<Booking> getAllByBooker(long bookerId, BookingState state, Cursor after, int limit) {
+        return getAll(BookingParty.BOOKER, bookerId, state, after, PageRequest.of(0, limit));
     }
 
     public List<Booking> getAllByOwner(long ownerId, BookingState state, Pageable pageable) {
-        userService.getById(ownerId);
-
-        switch (state) {
-            case ALL:
-                return bookingRepository.findAllByItemOwnerIdOrderByStartDesc(ownerId, pageable);
-            case CURRENT:
-                return bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        ownerId,
-                        LocalDateTime.now(),
-                        LocalDateTime.now(),
-                        pageable
-                );
-            case PAST:
-                return bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(
-                        ownerId,
-                        LocalDateTime.now(),
-                        pageable
-                );
-            case FUTURE:
-                return bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(
-                        ownerId,
-                        LocalDateTime.now(),
-                        pageable
-                );
-            case WAITING:
-                return bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(
-                        ownerId,
-                        BookingStatus.WAITING,
-                        pageable
-                );
-            case REJECTED:
-                return bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(
-                        ownerId,
-                        BookingStatus.REJECTED,
-                        pageable
-                );
-            default:
-                throw new UnsupportedStatusException();
-        }
+        return getAll(BookingParty.OWNER, ownerId, state, null, pageable);
+    }
+
+    public List<Booking> getAllByOwner(long ownerId, BookingState state, Cursor after, int limit) {
+        return getAll(BookingParty.OWNER, ownerId, state, after, PageRequest.of(0, limit));
     }
 
     public Booking getById(long bookingId, long userId) {
@@ -119,9 +75,10 @@ public class BookingService {
         return booking;
     }
 
+    @Transactional
     public Booking create(long userId, CreateBookingDto dto) {
         User booker = userService.getById(userId);
-        Item item = itemRepository.findById(dto.getItemId()).orElseThrow(() -> new NotFoundException("item", dto.getItemId()));
+        Item item = itemRepository.findByIdForUpdate(dto.getItemId()).orElseThrow(() -> new NotFoundException("item", dto.getItemId()));
 
         boolean isItemUnavailable = !item.getAvailable();
 
@@ -143,31 +100,125 @@ public class BookingService {
             throw new FieldValidationException("start | end", "Time is incorrect");
         }
 
+        if (bookingRepository.existsOverlapping(item.getId(), BLOCKING_STATUSES, booking.getStart(), booking.getEnd())) {
+            throw new BookingConflictException(item.getId());
+        }
+
         booking.setStatus(BookingStatus.WAITING);
         booking.setBooker(booker);
         booking.setItem(item);
 
-        return bookingRepository.save(booking);
+        Booking savedBooking;
+
+        try {
+            savedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException exception) {
+            if (isOverlapViolation(exception)) {
+                throw new BookingConflictException(item.getId());
+            }
+
+            throw exception;
+        }
+
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.BOOKING, savedBooking.getId()));
+
+        return savedBooking;
     }
 
     public Booking update(long bookingId, long ownerId, boolean approved) {
+        BookingStatus newStatus = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        // the update commits on its own, so the row lock is released before the booking is read
+        int updated = bookingRepository.updateStatus(bookingId, ownerId, BookingStatus.WAITING, newStatus);
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> new NotFoundException("booking", bookingId));
 
-        boolean isOwner = booking.getItem().getOwner().getId() == ownerId;
+        if (updated == 0) {
+            boolean isOwner = booking.getItem().getOwner().getId() == ownerId;
 
-        if (!isOwner) {
-            throw new NotFoundException("booking", bookingId);
+            if (!isOwner) {
+                throw new NotFoundException("booking", bookingId);
+            }
+
+            throw new FieldValidationException("bookingId", "Booking is already approved or rejected");
         }
 
-        boolean isBookingApprovedOrRejected = booking.getStatus() == BookingStatus.APPROVED || booking.getStatus() == BookingStatus.REJECTED;
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.BOOKING, bookingId));
 
-        if (isBookingApprovedOrRejected) {
-            throw new FieldValidationException("bookingId", "Booking is already approved or rejected");
+        return booking;
+    }
+
+    @Transactional
+    public List<BookingUpdateResultDto> updateAll(long ownerId, Collection<Long> bookingIds, boolean approved) {
+        if (bookingIds == null || bookingIds.isEmpty()) {
+            throw new FieldValidationException("bookingIds", "BookingIds are required");
         }
 
         BookingStatus newStatus = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
-        booking.setStatus(newStatus);
+        Set<Long> uniqueIds = new LinkedHashSet<>(bookingIds);
+        List<Long> ownedIds = bookingRepository.lockAllByIdInAndOwnerId(uniqueIds, ownerId);
+        Map<Long, Booking> bookings = Collections.emptyMap();
+
+        // an empty in () list is a syntax error on PostgreSQL
+        if (!ownedIds.isEmpty()) {
+            bookings = bookingRepository.findAllWithItemById(ownedIds)
+                    .stream()
+                    .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        }
+
+        List<BookingUpdateResultDto> results = new ArrayList<>(uniqueIds.size());
+
+        for (Long bookingId : uniqueIds) {
+            Booking booking = bookings.get(bookingId);
+
+            if (booking == null) {
+                results.add(new BookingUpdateResultDto(bookingId, BookingUpdateOutcome.NOT_FOUND, null));
+            } else if (booking.getStatus() != BookingStatus.WAITING) {
+                results.add(new BookingUpdateResultDto(bookingId, BookingUpdateOutcome.ALREADY_DECIDED, booking.getStatus()));
+            } else {
+                booking.setStatus(newStatus);
+                eventPublisher.publishEvent(new EntityChangedEvent(EntityType.BOOKING, bookingId));
+                results.add(new BookingUpdateResultDto(bookingId, BookingUpdateOutcome.UPDATED, newStatus));
+            }
+        }
+
+        return results;
+    }
+
+    public BookingFilter getExportFilter(BookingParty party, long userId, BookingState state) {
+        return toFilter(party, userId, state, null);
+    }
+
+    private List<Booking> getAll(BookingParty party, long userId, BookingState state, Cursor after, Pageable pageable) {
+        return bookingRepository.findAll(toFilter(party, userId, state, after), pageable);
+    }
+
+    private BookingFilter toFilter(BookingParty party, long userId, BookingState state, Cursor after) {
+        userService.checkExists(userId);
+
+        return BookingFilter.builder()
+                .party(party)
+                .userId(userId)
+                .state(state)
+                .now(LocalDateTime.now())
+                .after(after)
+                .build();
+    }
+
+    /**
+     * Only the PostgreSQL exclusion constraint means another booking took the period first; other
+     * integrity violations are bugs and must not look like a conflict.
+     */
+    private static boolean isOverlapViolation(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException
+                    && OVERLAP_CONSTRAINT.equals(((ConstraintViolationException) cause).getConstraintName())) {
+                return true;
+            }
+
+            if (cause instanceof SQLException && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
 
-        return bookingRepository.save(booking);
+        return false;
     }
 }
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking;
+
+public enum BookingUpdateOutcome {
+    UPDATED,
+    NOT_FOUND,
+    ALREADY_DECIDED
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.BookingUpdateOutcome;
+
+@Value
+public class BookingUpdateResultDto {
+    Long bookingId;
+    BookingUpdateOutcome outcome;
+    BookingStatus status;
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class ItemBookingDto {
+    Long itemId;
+    Long id;
+    Long bookerId;
+    LocalDateTime start;
+    LocalDateTime end;
+}
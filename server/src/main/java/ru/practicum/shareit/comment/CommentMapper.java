@@ -4,6 +4,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CreateCommentDto;
+import ru.practicum.shareit.comment.dto.ItemCommentDto;
 
 @Mapper(componentModel = "spring")
 public interface CommentMapper {
@@ -11,4 +12,6 @@ public interface CommentMapper {
 
     @Mapping(target = "authorName", source = "comment.author.name")
     CommentDto commentToCommentDto(Comment comment);
+
+    CommentDto itemCommentDtoToCommentDto(ItemCommentDto comment);
 }
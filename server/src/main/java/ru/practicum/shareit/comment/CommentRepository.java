@@ -1,9 +1,21 @@
 package ru.practicum.shareit.comment;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.comment.dto.ItemCommentDto;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(attributePaths = "author")
     List<Comment> findAllByItemId(long itemId);
+
+    @Query("select new ru.practicum.shareit.comment.dto.ItemCommentDto(c.item.id, c.id, c.text, a.name, c.created) " +
+            "from Comment c " +
+            "join c.author a " +
+            "where c.item.id in ?1 " +
+            "order by c.id")
+    List<ItemCommentDto> findAllByItemIdIn(Collection<Long> itemIds);
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.comment.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class ItemCommentDto {
+    Long itemId;
+    long id;
+    String text;
+    String authorName;
+    LocalDateTime created;
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.core.cache;
+
+import java.util.function.Consumer;
+
+public interface CacheInvalidationBus {
+    void publish(CacheInvalidationMessage message);
+
+    void subscribe(Consumer<CacheInvalidationMessage> subscriber);
+}
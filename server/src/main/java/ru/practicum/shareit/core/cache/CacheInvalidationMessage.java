@@ -0,0 +1,32 @@
+package ru.practicum.shareit.core.cache;
+
+import lombok.Value;
+
+@Value
+public class CacheInvalidationMessage {
+    private static final String SEPARATOR = "|";
+
+    EntityType type;
+    long id;
+    String origin;
+    long publishedAt;
+
+    public String encode() {
+        return type + SEPARATOR + id + SEPARATOR + origin + SEPARATOR + publishedAt;
+    }
+
+    public static CacheInvalidationMessage decode(String value) {
+        String[] parts = value.split("\\|", -1);
+
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Incorrect cache invalidation message: " + value);
+        }
+
+        return new CacheInvalidationMessage(
+                EntityType.valueOf(parts[0]),
+                Long.parseLong(parts[1]),
+                parts[2],
+                Long.parseLong(parts[3])
+        );
+    }
+}
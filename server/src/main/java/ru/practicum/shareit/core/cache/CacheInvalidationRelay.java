@@ -0,0 +1,70 @@
+package ru.practicum.shareit.core.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.user.UserService;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.UUID;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInvalidationRelay {
+    private final String origin = UUID.randomUUID().toString();
+    private final CacheInvalidationBus bus;
+    private final CacheManager cacheManager;
+    private final ItemSearchEngine itemSearchEngine;
+    private final MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void subscribe() {
+        bus.subscribe(this::onMessage);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        bus.publish(new CacheInvalidationMessage(event.getType(), event.getId(), origin, System.currentTimeMillis()));
+    }
+
+    private void onMessage(CacheInvalidationMessage message) {
+        if (origin.equals(message.getOrigin())) {
+            return;
+        }
+
+        log.debug("Invalidating {} with id={} changed on {}", message.getType(), message.getId(), message.getOrigin());
+
+        switch (message.getType()) {
+            case USER:
+                evict(UserService.USERS_CACHE, message.getId());
+                evict(UserService.USER_EXISTS_CACHE, message.getId());
+                break;
+            case ITEM:
+                itemSearchEngine.onChanged(message.getId());
+                break;
+            default:
+                break;
+        }
+
+        Timer.builder("shareit.cache.invalidation.lag")
+                .tag("type", message.getType().name())
+                .register(meterRegistry)
+                .record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - message.getPublishedAt())));
+    }
+
+    private void evict(String cacheName, long id) {
+        Cache cache = cacheManager.getCache(cacheName);
+
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.core.cache;
+
+import lombok.Value;
+
+@Value
+public class EntityChangedEvent {
+    EntityType type;
+    long id;
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.core.cache;
+
+public enum EntityType {
+    USER,
+    ITEM,
+    BOOKING
+}
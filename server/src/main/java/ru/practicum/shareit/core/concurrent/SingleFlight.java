@@ -0,0 +1,108 @@
+package ru.practicum.shareit.core.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+public class SingleFlight {
+    private final Map<Map.Entry<String, Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, GroupMeters> meters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final int maxInFlight;
+
+    public SingleFlight(MeterRegistry meterRegistry, @Value("${shareit.single-flight.max-in-flight}") int maxInFlight) {
+        this.meterRegistry = meterRegistry;
+        this.maxInFlight = maxInFlight;
+
+        Gauge.builder("shareit.single-flight.in-flight", inFlight, Map::size).register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String group, Object key, Supplier<T> loader) {
+        GroupMeters groupMeters = meters.computeIfAbsent(group, this::registerMeters);
+        groupMeters.calls.increment();
+
+        Map.Entry<String, Object> flight = Map.entry(group, key);
+        CompletableFuture<Object> leader = new CompletableFuture<>();
+        CompletableFuture<Object> running;
+
+        if (inFlight.size() < maxInFlight) {
+            running = inFlight.putIfAbsent(flight, leader);
+        } else {
+            running = inFlight.get(flight);
+
+            if (running == null) {
+                groupMeters.bypassed.increment();
+                return loader.get();
+            }
+        }
+
+        if (running != null) {
+            groupMeters.coalesced.increment();
+            return (T) await(running);
+        }
+
+        try {
+            T value = loader.get();
+            leader.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flight, leader);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    private GroupMeters registerMeters(String group) {
+        GroupMeters groupMeters = new GroupMeters(
+                Counter.builder("shareit.single-flight.calls").tag("group", group).register(meterRegistry),
+                Counter.builder("shareit.single-flight.coalesced").tag("group", group).register(meterRegistry),
+                Counter.builder("shareit.single-flight.bypassed").tag("group", group).register(meterRegistry)
+        );
+
+        Gauge.builder("shareit.single-flight.coalescing.ratio", groupMeters, GroupMeters::coalescingRatio)
+                .tag("group", group)
+                .register(meterRegistry);
+
+        return groupMeters;
+    }
+
+    @RequiredArgsConstructor
+    private static class GroupMeters {
+        private final Counter calls;
+        private final Counter coalesced;
+        private final Counter bypassed;
+
+        double coalescingRatio() {
+            double total = calls.count();
+            return total == 0 ? 0 : coalesced.count() / total;
+        }
+    }
+}
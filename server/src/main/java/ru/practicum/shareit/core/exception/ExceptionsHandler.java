@@ -6,6 +6,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.shareit.booking.BookingConflictException;
 import ru.practicum.shareit.booking.UnsupportedStatusException;
 import ru.practicum.shareit.user.DuplicatedEmailException;
 
@@ -47,6 +48,13 @@ public class ExceptionsHandler {
         return Map.of("error", exception.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> bookingConflictExceptionHandler(BookingConflictException exception) {
+        log.error("Booking conflict", exception);
+        return Map.of("error", exception.getMessage());
+    }
+
     @ExceptionHandler
     public Map<String, String> unsupportedStatusExceptionHandler(UnsupportedStatusException exception) {
         log.error("Unsupported status of booking", exception);
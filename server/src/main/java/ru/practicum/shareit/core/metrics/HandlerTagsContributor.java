@@ -0,0 +1,38 @@
+package ru.practicum.shareit.core.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Tags {@code http.server.requests} with the controller method that handled the request.
+ */
+@Component
+public class HandlerTagsContributor implements WebMvcTagsContributor {
+    static final String HANDLER_TAG = "handler";
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler, Throwable exception) {
+        return Tags.of(handler(handler));
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.of(handler(handler));
+    }
+
+    static Tag handler(Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod method = (HandlerMethod) handler;
+
+            return Tag.of(HANDLER_TAG, method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+        }
+
+        return Tag.of(HANDLER_TAG, "none");
+    }
+}
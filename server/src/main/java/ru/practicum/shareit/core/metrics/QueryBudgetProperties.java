@@ -0,0 +1,34 @@
+package ru.practicum.shareit.core.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.query-budget")
+public class QueryBudgetProperties {
+    /**
+     * Statements a request may execute unless its handler has a budget of its own.
+     */
+    private int statements = 20;
+
+    /**
+     * How many times a request may execute the same statement before it is reported as a likely N+1.
+     */
+    private int repeats = 3;
+
+    /**
+     * Statements running at least this long are logged and counted as slow.
+     */
+    private Duration slowQuery = Duration.ofMillis(500);
+
+    /**
+     * Statement budgets by handler, e.g. {@code shareit.query-budget.handlers[ItemController.getByUserId]=5}.
+     */
+    private Map<String, Integer> handlers = new HashMap<>();
+}
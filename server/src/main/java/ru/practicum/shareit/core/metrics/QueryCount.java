@@ -0,0 +1,38 @@
+package ru.practicum.shareit.core.metrics;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Getter
+public class QueryCount {
+    private long statements;
+    private long rows;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Integer> executions = new HashMap<>();
+
+    /**
+     * Statements executed more than {@code maxRepeats} times. The same SQL run again and again with
+     * different parameters is what an N+1 looks like from the database side.
+     */
+    public Map<String, Integer> getRepeatedStatements(int maxRepeats) {
+        return executions.entrySet()
+                .stream()
+                .filter(execution -> execution.getValue() > maxRepeats)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    void statementExecuted(List<String> queries) {
+        statements++;
+        queries.forEach(query -> executions.merge(query, 1, Integer::sum));
+    }
+
+    void rowFetched() {
+        rows++;
+    }
+}
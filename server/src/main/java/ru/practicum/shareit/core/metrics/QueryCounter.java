@@ -0,0 +1,65 @@
+package ru.practicum.shareit.core.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Counts JDBC statements and fetched rows of the work done on the current thread between
+ * {@link #start()} and {@link #stop()}. Nothing is counted outside of that window, but slow
+ * statements are reported wherever they run.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class QueryCounter {
+    private final ThreadLocal<QueryCount> current = new ThreadLocal<>();
+    private final long slowQueryMillis;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    /**
+     * The registry is looked up lazily: it binds data source metrics itself, so it cannot be created
+     * while the data source is being wrapped.
+     */
+    public QueryCounter(QueryBudgetProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.slowQueryMillis = properties.getSlowQuery().toMillis();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public QueryCount start() {
+        QueryCount count = new QueryCount();
+        current.set(count);
+
+        return count;
+    }
+
+    public void stop() {
+        current.remove();
+    }
+
+    void statementExecuted(List<String> queries, long elapsedMillis) {
+        if (elapsedMillis >= slowQueryMillis) {
+            Counter.builder("shareit.db.slow.statements").register(meterRegistry.getObject()).increment();
+            log.warn("Slow statement took {} ms: {}", elapsedMillis, queries);
+        }
+
+        QueryCount count = current.get();
+
+        if (count != null) {
+            count.statementExecuted(queries);
+        }
+    }
+
+    void rowFetched() {
+        QueryCount count = current.get();
+
+        if (count != null) {
+            count.rowFetched();
+        }
+    }
+}
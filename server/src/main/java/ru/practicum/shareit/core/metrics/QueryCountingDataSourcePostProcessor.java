@@ -0,0 +1,47 @@
+package ru.practicum.shareit.core.metrics;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.stream.Collectors;
+
+/**
+ * Wraps the data source so that {@link QueryCounter} sees every executed statement and every row
+ * read from a result set.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryCountingDataSourcePostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<QueryCounter> queryCounter;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+
+        QueryCounter counter = queryCounter.getObject();
+
+        return ProxyDataSourceBuilder.create(beanName, (DataSource) bean)
+                .afterQuery((execution, queries) -> counter.statementExecuted(
+                        queries.stream().map(QueryInfo::getQuery).collect(Collectors.toList()),
+                        execution.getElapsedTime()
+                ))
+                .proxyResultSet()
+                .afterMethod(context -> {
+                    if (context.getTarget() instanceof ResultSet
+                            && "next".equals(context.getMethod().getName())
+                            && Boolean.TRUE.equals(context.getResult())) {
+                        counter.rowFetched();
+                    }
+                })
+                .build();
+    }
+}
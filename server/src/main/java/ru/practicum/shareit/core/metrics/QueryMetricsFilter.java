@@ -0,0 +1,88 @@
+package ru.practicum.shareit.core.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Records how many SQL statements a request executed and how many rows it read, per endpoint, and
+ * reports requests that go over their statement budget or repeat a statement like an N+1 does.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryMetricsFilter extends OncePerRequestFilter {
+    static final String STATEMENTS = "shareit.db.statements";
+    static final String ROWS = "shareit.db.rows";
+    static final String BUDGET_EXCEEDED = "shareit.db.budget.exceeded";
+
+    private final QueryCounter queryCounter;
+    private final QueryBudgetProperties budget;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCount count = queryCounter.start();
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            queryCounter.stop();
+            record(request, count);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCount count) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tag handler = HandlerTagsContributor.handler(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+        Tags tags = Tags.of(handler).and("uri", pattern != null ? pattern.toString() : "UNKNOWN");
+
+        DistributionSummary.builder(STATEMENTS)
+                .baseUnit("statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(count.getStatements());
+        DistributionSummary.builder(ROWS)
+                .baseUnit("rows")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(count.getRows());
+
+        int statementBudget = budget.getHandlers().getOrDefault(handler.getValue(), budget.getStatements());
+
+        if (count.getStatements() > statementBudget) {
+            budgetExceeded(tags, "statements").increment();
+            log.warn("{} executed {} statements, its budget is {}", handler.getValue(), count.getStatements(), statementBudget);
+        }
+
+        Map<String, Integer> repeated = count.getRepeatedStatements(budget.getRepeats());
+
+        if (!repeated.isEmpty()) {
+            budgetExceeded(tags, "repeats").increment();
+            repeated.forEach((sql, times) ->
+                    log.warn("{} executed the same statement {} times, likely an N+1: {}", handler.getValue(), times, sql));
+        }
+    }
+
+    private Counter budgetExceeded(Tags tags, String reason) {
+        return Counter.builder(BUDGET_EXCEEDED)
+                .tags(tags)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
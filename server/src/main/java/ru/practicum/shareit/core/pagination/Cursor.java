@@ -0,0 +1,57 @@
+package ru.practicum.shareit.core.pagination;
+
+import lombok.Value;
+import ru.practicum.shareit.core.exception.FieldValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Value
+public class Cursor {
+    private static final String SEPARATOR = "|";
+
+    LocalDateTime timestamp;
+    long id;
+
+    public static Cursor of(long id) {
+        return new Cursor(null, id);
+    }
+
+    public static Cursor of(LocalDateTime timestamp, long id) {
+        return new Cursor(timestamp, id);
+    }
+
+    public static Cursor decode(String value, boolean withTimestamp) {
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separatorIndex = decoded.indexOf(SEPARATOR);
+
+            if (withTimestamp != (separatorIndex >= 0)) {
+                throw new FieldValidationException("after", "Incorrect cursor");
+            }
+
+            if (!withTimestamp) {
+                return of(Long.parseLong(decoded));
+            }
+
+            return of(
+                    LocalDateTime.parse(decoded.substring(0, separatorIndex)),
+                    Long.parseLong(decoded.substring(separatorIndex + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new FieldValidationException("after", "Incorrect cursor");
+        }
+    }
+
+    public String encode() {
+        String value = timestamp == null ? String.valueOf(id) : timestamp + SEPARATOR + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
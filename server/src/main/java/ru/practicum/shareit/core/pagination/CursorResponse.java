@@ -0,0 +1,24 @@
+package ru.practicum.shareit.core.pagination;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CursorResponse {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static <T> ResponseEntity<List<T>> of(List<T> items, Integer size, Function<T, Cursor> cursorMapper) {
+        if (size == null || items.isEmpty() || items.size() < size) {
+            return ResponseEntity.ok(items);
+        }
+
+        return ResponseEntity
+                .ok()
+                .header(NEXT_CURSOR_HEADER, cursorMapper.apply(items.get(items.size() - 1)).encode())
+                .body(items);
+    }
+}
@@ -2,12 +2,13 @@ package ru.practicum.shareit.core.pagination;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.core.exception.FieldValidationException;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class PaginationMapper {
+    private static final int DEFAULT_SIZE = 20;
+
     public static Pageable toPageable(Integer from, Integer size) {
         if (from == null || size == null) {
             return null;
@@ -17,7 +18,18 @@ public class PaginationMapper {
             throw new FieldValidationException("Pagination", "Incorrect from or size");
         }
 
-        int page = from / size;
-        return PageRequest.of(page, size);
+        return OffsetPageRequest.of(from, size);
+    }
+
+    public static int toLimit(Integer size) {
+        if (size == null) {
+            return DEFAULT_SIZE;
+        }
+
+        if (size <= 0) {
+            throw new FieldValidationException("Pagination", "Incorrect size");
+        }
+
+        return size;
     }
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -15,6 +16,8 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CreateCommentDto;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.core.pagination.CursorResponse;
 import ru.practicum.shareit.core.pagination.PaginationMapper;
 import ru.practicum.shareit.item.dto.CreateItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -39,12 +42,27 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> search(
+    public ResponseEntity<List<ItemDto>> search(
             @RequestParam(required = false) String text,
             @RequestParam(required = false) Integer from,
-            @RequestParam(required = false) Integer size
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after
     ) {
-        return itemService.search(text, PaginationMapper.toPageable(from, size));
+        if (after != null) {
+            int limit = PaginationMapper.toLimit(size);
+            List<ItemDto> items = itemService.search(text, Cursor.decode(after, false), limit);
+
+            return CursorResponse.of(items, limit, item -> Cursor.of(item.getId()));
+        }
+
+        List<ItemDto> items = itemService.search(text, PaginationMapper.toPageable(from, size));
+
+        // ranked pages cannot be continued by an id cursor
+        if (!itemService.isSearchOrderedById()) {
+            return ResponseEntity.ok(items);
+        }
+
+        return CursorResponse.of(items, size, item -> Cursor.of(item.getId()));
     }
 
     @GetMapping("/{id}")
@@ -11,4 +11,6 @@ public interface ItemMapper {
 
     @Mapping(target = "requestId", source = "request.id")
     ItemDto itemToItemDto(Item item);
+
+    ItemDto itemDtoToItemDto(ItemDto dto);
 }
@@ -1,20 +1,73 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.search.ItemSearchDocument;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(long id);
+
+    @EntityGraph(attributePaths = {"owner", "request", "request.user"})
     List<Item> findAllByOwnerIdOrderById(Long ownerId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"owner", "request", "request.user"})
+    List<Item> findAllById(Iterable<Long> ids);
+
     @Query("select i " +
             "from Item i " +
             "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
             "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
-            "and i.available is true")
+            "and i.available is true " +
+            "order by i.id")
+    @EntityGraph(attributePaths = {"owner", "request", "request.user"})
     List<Item> findAllByText(String text, Pageable pageable);
 
-    List<Item> findAllByRequestId(long requestId);
+    @Query("select i " +
+            "from Item i " +
+            "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            "and i.available is true " +
+            "and i.id > ?2 " +
+            "order by i.id")
+    @EntityGraph(attributePaths = {"owner", "request", "request.user"})
+    List<Item> findAllByTextAfter(String text, long afterId, Pageable pageable);
+
+    @Query(value = "select i.* " +
+            "from item i, to_tsquery('simple', ?1) query " +
+            "where i.available and i.search_vector @@ query " +
+            "order by ts_rank(i.search_vector, query) desc, i.item_id",
+            nativeQuery = true)
+    List<Item> findAllByFullText(String query, Pageable pageable);
+
+    @Query(value = "select i.* " +
+            "from item i " +
+            "where i.available and i.search_vector @@ to_tsquery('simple', ?1) " +
+            "and i.item_id > ?2 " +
+            "order by i.item_id",
+            nativeQuery = true)
+    List<Item> findAllByFullTextAfter(String query, long afterId, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.item.search.ItemSearchDocument(i.id, i.name, i.description, i.available) " +
+            "from Item i " +
+            "where i.id > ?1 " +
+            "order by i.id")
+    List<ItemSearchDocument> findSearchDocuments(long afterId, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.item.search.ItemSearchDocument(i.id, i.name, i.description, i.available) " +
+            "from Item i " +
+            "where i.id in ?1")
+    List<ItemSearchDocument> findSearchDocumentsByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"owner", "request", "request.user"})
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
 }
@@ -1,33 +1,49 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.ItemBookingDto;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
 import ru.practicum.shareit.comment.Comment;
 import ru.practicum.shareit.comment.CommentMapper;
 import ru.practicum.shareit.comment.CommentRepository;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CreateCommentDto;
+import ru.practicum.shareit.comment.dto.ItemCommentDto;
+import ru.practicum.shareit.core.cache.EntityChangedEvent;
+import ru.practicum.shareit.core.cache.EntityType;
+import ru.practicum.shareit.core.concurrent.SingleFlight;
 import ru.practicum.shareit.core.exception.FieldValidationException;
 import ru.practicum.shareit.core.exception.NotFoundException;
+import ru.practicum.shareit.core.pagination.Cursor;
 import ru.practicum.shareit.item.dto.CreateItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.RequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ItemService {
+    private static final Pageable FIRST_BOOKING = PageRequest.of(0, 1);
+    private static final String ITEM_FLIGHT = "item";
+    private static final String OWNER_ITEM_FLIGHT = "item-owner";
+
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final UserService userService;
@@ -36,21 +52,38 @@ public class ItemService {
     private final CommentMapper commentMapper;
     private final CommentRepository commentRepository;
     private final RequestRepository requestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight singleFlight;
 
     public List<ItemDto> getByUserId(long userId, Pageable pageable) {
-        return itemRepository.findAllByOwnerIdOrderById(userId, pageable)
+        List<Item> items = itemRepository.findAllByOwnerIdOrderById(userId, pageable);
+
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        Map<Long, List<ItemBookingDto>> bookings = bookingRepository
+                .findLastAndNextByItemIds(itemIds, BookingStatus.APPROVED, now)
+                .stream()
+                .collect(Collectors.groupingBy(ItemBookingDto::getItemId));
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        ItemCommentDto::getItemId,
+                        Collectors.mapping(commentMapper::itemCommentDtoToCommentDto, Collectors.toList())
+                ));
+
+        return items
                 .stream()
                 .map(item -> {
                     ItemDto itemDto = itemMapper.itemToItemDto(item);
-                    List<Booking> bookings = bookingRepository.findAllByItemIdOrderByStartAsc(item.getId());
-                    itemDto.setNextBooking(bookingMapper.bookingToShortBookingDto(getNextBooking(bookings)));
-                    itemDto.setLastBooking(bookingMapper.bookingToShortBookingDto(getLastBooking(bookings)));
-                    itemDto.setComments(
-                            commentRepository.findAllByItemId(item.getId())
-                                    .stream()
-                                    .map(commentMapper::commentToCommentDto)
-                                    .collect(Collectors.toList())
-                    );
+                    List<ItemBookingDto> itemBookings = bookings.getOrDefault(item.getId(), Collections.emptyList());
+                    itemDto.setNextBooking(bookingMapper.itemBookingDtoToShortBookingDto(getNextBooking(itemBookings, now)));
+                    itemDto.setLastBooking(bookingMapper.itemBookingDtoToShortBookingDto(getLastBooking(itemBookings, now)));
+                    itemDto.setComments(comments.getOrDefault(item.getId(), Collections.emptyList()));
 
                     return itemDto;
                 })
@@ -62,31 +95,45 @@ public class ItemService {
             return Collections.emptyList();
         }
 
-        return itemRepository
-                .findAllByText(text, pageable)
+        return itemSearchEngine
+                .search(text, pageable)
                 .stream()
                 .map(itemMapper::itemToItemDto)
                 .collect(Collectors.toList());
     }
 
-    public ItemDto getById(long id, long userId) {
-        Item item = itemRepository.findById(id).orElseThrow(() -> new NotFoundException("item", id));
+    public List<ItemDto> search(String text, Cursor after, int limit) {
+        if (text.isBlank()) {
+            return Collections.emptyList();
+        }
 
-        if (item.getOwner().getId() == userId) {
-            List<Booking> bookings = bookingRepository.findAllByItemIdOrderByStartAsc(id);
+        return itemSearchEngine
+                .searchAfter(text, after.getId(), limit)
+                .stream()
+                .map(itemMapper::itemToItemDto)
+                .collect(Collectors.toList());
+    }
+
+    public boolean isSearchOrderedById() {
+        return itemSearchEngine.isOrderedById();
+    }
 
-            item.setNextBooking(bookingMapper.bookingToShortBookingDto(getNextBooking(bookings)));
-            item.setLastBooking(bookingMapper.bookingToShortBookingDto(getLastBooking(bookings)));
+    public ItemDto getById(long id, long userId) {
+        ItemDto item = singleFlight.execute(ITEM_FLIGHT, id, () -> loadItem(id));
+
+        if (item.getOwner().getId() != userId) {
+            return item;
         }
 
-        item.setComments(
-                commentRepository.findAllByItemId(item.getId())
-                        .stream()
-                        .map(commentMapper::commentToCommentDto)
-                        .collect(Collectors.toList())
-        );
+        return singleFlight.execute(OWNER_ITEM_FLIGHT, id, () -> {
+            LocalDateTime now = LocalDateTime.now();
+            ItemDto ownerItem = itemMapper.itemDtoToItemDto(item);
 
-        return itemMapper.itemToItemDto(item);
+            ownerItem.setNextBooking(getNextBooking(id, now));
+            ownerItem.setLastBooking(getLastBooking(id, now));
+
+            return ownerItem;
+        });
     }
 
     public ItemDto create(long userId, CreateItemDto dto) {
@@ -101,7 +148,11 @@ public class ItemService {
             });
         }
 
-        return itemMapper.itemToItemDto(itemRepository.save(newItem));
+        Item savedItem = itemRepository.save(newItem);
+        itemSearchEngine.onSaved(savedItem);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.ITEM, savedItem.getId()));
+
+        return itemMapper.itemToItemDto(savedItem);
     }
 
     public ItemDto update(long id, long userId, UpdateItemDto dto) {
@@ -124,39 +175,68 @@ public class ItemService {
             item.setAvailable(dto.getAvailable());
         }
 
-        return itemMapper.itemToItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.onSaved(savedItem);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.ITEM, savedItem.getId()));
+
+        return itemMapper.itemToItemDto(savedItem);
     }
 
     public ItemDto delete(long id) {
         Item item = itemRepository.findById(id).orElseThrow(() -> new NotFoundException("item", id));
         itemRepository.deleteById(id);
+        itemSearchEngine.onDeleted(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.ITEM, id));
 
         return itemMapper.itemToItemDto(item);
     }
 
-    private Booking getNextBooking(List<Booking> bookings) {
-        List<Booking> filteredBookings = bookings.stream()
-                .filter(booking -> booking.getStart().isAfter(LocalDateTime.now()))
-                .collect(Collectors.toList());
+    private ItemDto loadItem(long id) {
+        Item item = itemRepository.findById(id).orElseThrow(() -> new NotFoundException("item", id));
 
-        return filteredBookings.isEmpty() ? null : filteredBookings.get(0);
+        item.setComments(
+                commentRepository.findAllByItemId(item.getId())
+                        .stream()
+                        .map(commentMapper::commentToCommentDto)
+                        .collect(Collectors.toList())
+        );
+
+        return itemMapper.itemToItemDto(item);
     }
 
-    private Booking getLastBooking(List<Booking> bookings) {
-        List<Booking> filteredBookings = bookings.stream()
-                .filter(booking -> booking.getEnd().isBefore(LocalDateTime.now()))
-                .collect(Collectors.toList());
+    private ShortBookingDto getNextBooking(long itemId, LocalDateTime now) {
+        return bookingRepository.findNextBookings(itemId, BookingStatus.APPROVED, now, FIRST_BOOKING)
+                .stream()
+                .findFirst()
+                .orElse(null);
+    }
 
-        return filteredBookings.isEmpty() ? null : filteredBookings.get(filteredBookings.size() - 1);
+    private ShortBookingDto getLastBooking(long itemId, LocalDateTime now) {
+        return bookingRepository.findLastBookings(itemId, BookingStatus.APPROVED, now, FIRST_BOOKING)
+                .stream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    private ItemBookingDto getNextBooking(List<ItemBookingDto> bookings, LocalDateTime now) {
+        return bookings.stream()
+                .filter(booking -> booking.getStart().isAfter(now))
+                .min(Comparator.comparing(ItemBookingDto::getStart))
+                .orElse(null);
+    }
+
+    private ItemBookingDto getLastBooking(List<ItemBookingDto> bookings, LocalDateTime now) {
+        return bookings.stream()
+                .filter(booking -> booking.getEnd().isBefore(now))
+                .max(Comparator.comparing(ItemBookingDto::getStart))
+                .orElse(null);
     }
 
     public CommentDto comment(long id, long userId, CreateCommentDto commentDto) {
         Item item = itemRepository.findById(id).orElseThrow(() -> new NotFoundException("item", id));
         User user = userService.getById(userId);
 
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(userId, LocalDateTime.now(), null);
-
-        if (bookings.isEmpty()) {
+        if (!bookingRepository.existsByItemIdAndBookerIdAndEndBefore(id, userId, LocalDateTime.now())) {
             throw new FieldValidationException("userId", "User didn't book this item");
         }
 
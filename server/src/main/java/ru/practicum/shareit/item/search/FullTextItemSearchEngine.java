@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "full-text")
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+    private static final String TOKEN_SEPARATOR = "[^\\p{L}\\p{N}]+";
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String query = toPrefixQuery(text);
+
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return itemRepository.findAllByFullText(query, pageable);
+    }
+
+    @Override
+    public List<Item> searchAfter(String text, long afterId, int limit) {
+        String query = toPrefixQuery(text);
+
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return itemRepository.findAllByFullTextAfter(query, afterId, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public boolean isOrderedById() {
+        return false;
+    }
+
+    static String toPrefixQuery(String text) {
+        return Arrays.stream(text.split(TOKEN_SEPARATOR))
+                .filter(token -> !token.isEmpty())
+                .map(token -> token.toLowerCase(Locale.ROOT) + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
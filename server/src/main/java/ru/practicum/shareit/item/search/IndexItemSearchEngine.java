@@ -0,0 +1,162 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+public class IndexItemSearchEngine implements ItemSearchEngine {
+    private static final Pageable REBUILD_BATCH = PageRequest.of(0, 1000);
+
+    private final ItemRepository itemRepository;
+    private final Timer rebuildTimer;
+    private final Object updateLock = new Object();
+    private volatile ItemIndex index = new ItemIndex();
+    private Set<Long> changedDuringRebuild;
+    private volatile boolean ready;
+
+    public IndexItemSearchEngine(ItemRepository itemRepository, MeterRegistry meterRegistry) {
+        this.itemRepository = itemRepository;
+        this.rebuildTimer = Timer.builder("shareit.search.index.rebuild").register(meterRegistry);
+
+        Gauge.builder("shareit.search.index.size", this, engine -> engine.index.size()).register(meterRegistry);
+        Gauge.builder("shareit.search.index.terms", this, engine -> engine.index.termCount()).register(meterRegistry);
+    }
+
+    /**
+     * Batches read before a concurrent update commits would bring its old text back, so items changed
+     * while the rebuild runs are read again after the swap, until no more changes come in.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        rebuildTimer.record(() -> {
+            synchronized (updateLock) {
+                changedDuringRebuild = new HashSet<>();
+            }
+
+            ItemIndex newIndex = new ItemIndex();
+            List<ItemSearchDocument> documents = itemRepository.findSearchDocuments(0, REBUILD_BATCH);
+
+            while (!documents.isEmpty()) {
+                documents.forEach(document -> add(newIndex, document));
+
+                long lastId = documents.get(documents.size() - 1).getId();
+                documents = itemRepository.findSearchDocuments(lastId, REBUILD_BATCH);
+            }
+
+            Set<Long> changed;
+
+            synchronized (updateLock) {
+                index = newIndex;
+                changed = takeChanged();
+            }
+
+            while (!changed.isEmpty()) {
+                List<ItemSearchDocument> changedDocuments = itemRepository.findSearchDocumentsByIdIn(changed);
+
+                synchronized (updateLock) {
+                    for (ItemSearchDocument document : changedDocuments) {
+                        add(newIndex, document);
+                        changed.remove(document.getId());
+                    }
+
+                    changed.forEach(newIndex::remove);
+                    changed = takeChanged();
+                }
+            }
+
+            ready = true;
+        });
+
+        log.info("Item search index rebuilt: {} items", index.size());
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        if (!ready) {
+            return itemRepository.findAllByText(text, pageable);
+        }
+
+        long offset = pageable == null ? 0 : pageable.getOffset();
+        int limit = pageable == null ? Integer.MAX_VALUE : pageable.getPageSize();
+
+        return findAllById(index.search(text, offset, limit));
+    }
+
+    @Override
+    public List<Item> searchAfter(String text, long afterId, int limit) {
+        if (!ready) {
+            return itemRepository.findAllByTextAfter(text, afterId, PageRequest.of(0, limit));
+        }
+
+        return findAllById(index.searchAfter(text, afterId, limit));
+    }
+
+    @Override
+    public void onSaved(Item item) {
+        synchronized (updateLock) {
+            index.add(item.getId(), item.getName(), item.getDescription(), Boolean.TRUE.equals(item.getAvailable()));
+            markChanged(item.getId());
+        }
+    }
+
+    @Override
+    public void onDeleted(long itemId) {
+        synchronized (updateLock) {
+            index.remove(itemId);
+            markChanged(itemId);
+        }
+    }
+
+    @Override
+    public void onChanged(long itemId) {
+        itemRepository.findById(itemId).ifPresentOrElse(this::onSaved, () -> onDeleted(itemId));
+    }
+
+    private void markChanged(long itemId) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(itemId);
+        }
+    }
+
+    private Set<Long> takeChanged() {
+        Set<Long> changed = changedDuringRebuild;
+        changedDuringRebuild = changed.isEmpty() ? null : new HashSet<>();
+
+        return changed;
+    }
+
+    private static void add(ItemIndex index, ItemSearchDocument document) {
+        index.add(document.getId(), document.getName(), document.getDescription(), Boolean.TRUE.equals(document.getAvailable()));
+    }
+
+    private List<Item> findAllById(long[] ids) {
+        if (ids.length == 0) {
+            return Collections.emptyList();
+        }
+
+        return itemRepository.findAllById(Arrays.stream(ids).boxed().collect(Collectors.toList()))
+                .stream()
+                .sorted(Comparator.comparing(Item::getId))
+                .collect(Collectors.toList());
+    }
+}
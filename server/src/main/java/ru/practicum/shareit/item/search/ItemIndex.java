@@ -0,0 +1,254 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ItemIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int MIN_GARBAGE_TO_COMPACT = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docIdsByItemId = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final BitSet available = new BitSet();
+    private long[] itemIds = new long[16];
+    private String[] names = new String[16];
+    private String[] descriptions = new String[16];
+    private int docCount;
+
+    public void add(long itemId, String name, String description, boolean isAvailable) {
+        lock.writeLock().lock();
+
+        try {
+            removeDocument(itemId);
+            addDocument(itemId, normalize(name), normalize(description), isAvailable);
+
+            if (docCount - docIdsByItemId.size() > Math.max(MIN_GARBAGE_TO_COMPACT, docIdsByItemId.size())) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+
+        try {
+            removeDocument(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long[] search(String text, long offset, int limit) {
+        long[] matches = findMatches(text);
+        int from = (int) Math.min(offset, matches.length);
+
+        return Arrays.copyOfRange(matches, from, (int) Math.min((long) from + limit, matches.length));
+    }
+
+    public long[] searchAfter(String text, long afterId, int limit) {
+        long[] matches = findMatches(text);
+        int from = Arrays.binarySearch(matches, afterId);
+        from = from >= 0 ? from + 1 : -from - 1;
+
+        return Arrays.copyOfRange(matches, from, (int) Math.min((long) from + limit, matches.length));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+
+        try {
+            return docIdsByItemId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] findMatches(String text) {
+        String query = normalize(text);
+        lock.readLock().lock();
+
+        try {
+            BitSet candidates = findCandidates(query);
+            candidates.and(live);
+            candidates.and(available);
+
+            long[] matches = new long[candidates.cardinality()];
+            int matchCount = 0;
+
+            for (int docId = candidates.nextSetBit(0); docId >= 0; docId = candidates.nextSetBit(docId + 1)) {
+                if (names[docId].contains(query) || descriptions[docId].contains(query)) {
+                    matches[matchCount++] = itemIds[docId];
+                }
+            }
+
+            Arrays.sort(matches, 0, matchCount);
+
+            return Arrays.copyOf(matches, matchCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet findCandidates(String query) {
+        BitSet candidates = new BitSet(docCount);
+
+        if (query.length() < GRAM_LENGTH) {
+            candidates.set(0, docCount);
+            return candidates;
+        }
+
+        List<Postings> queryPostings = new ArrayList<>();
+
+        for (String gram : grams(query)) {
+            Postings gramPostings = postings.get(gram);
+
+            if (gramPostings == null) {
+                return candidates;
+            }
+
+            queryPostings.add(gramPostings);
+        }
+
+        queryPostings.sort((left, right) -> Integer.compare(left.size, right.size));
+
+        int[] docIds = Arrays.copyOf(queryPostings.get(0).docIds, queryPostings.get(0).size);
+        int size = docIds.length;
+
+        for (int i = 1; i < queryPostings.size() && size > 0; i++) {
+            size = intersect(docIds, size, queryPostings.get(i));
+        }
+
+        for (int i = 0; i < size; i++) {
+            candidates.set(docIds[i]);
+        }
+
+        return candidates;
+    }
+
+    private void addDocument(long itemId, String name, String description, boolean isAvailable) {
+        int docId = docCount++;
+
+        if (docId == itemIds.length) {
+            int capacity = itemIds.length * 2;
+            itemIds = Arrays.copyOf(itemIds, capacity);
+            names = Arrays.copyOf(names, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+
+        itemIds[docId] = itemId;
+        names[docId] = name;
+        descriptions[docId] = description;
+        docIdsByItemId.put(itemId, docId);
+        live.set(docId);
+        available.set(docId, isAvailable);
+
+        Set<String> documentGrams = grams(name);
+        documentGrams.addAll(grams(description));
+
+        for (String gram : documentGrams) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(docId);
+        }
+    }
+
+    private void removeDocument(long itemId) {
+        Integer docId = docIdsByItemId.remove(itemId);
+
+        if (docId != null) {
+            live.clear(docId);
+            names[docId] = null;
+            descriptions[docId] = null;
+        }
+    }
+
+    private void compact() {
+        long[] oldItemIds = itemIds;
+        String[] oldNames = names;
+        String[] oldDescriptions = descriptions;
+        BitSet oldLive = (BitSet) live.clone();
+        BitSet oldAvailable = (BitSet) available.clone();
+        int capacity = Math.max(16, docIdsByItemId.size() * 2);
+
+        postings.clear();
+        docIdsByItemId.clear();
+        live.clear();
+        available.clear();
+        itemIds = new long[capacity];
+        names = new String[capacity];
+        descriptions = new String[capacity];
+        docCount = 0;
+
+        for (int docId = oldLive.nextSetBit(0); docId >= 0; docId = oldLive.nextSetBit(docId + 1)) {
+            addDocument(oldItemIds[docId], oldNames[docId], oldDescriptions[docId], oldAvailable.get(docId));
+        }
+    }
+
+    private static int intersect(int[] docIds, int size, Postings other) {
+        int result = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i < size && j < other.size) {
+            if (docIds[i] < other.docIds[j]) {
+                i++;
+            } else if (docIds[i] > other.docIds[j]) {
+                j++;
+            } else {
+                docIds[result++] = docIds[i];
+                i++;
+                j++;
+            }
+        }
+
+        return result;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static class Postings {
+        private int[] docIds = new int[4];
+        private int size;
+
+        private void add(int docId) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+            }
+
+            docIds[size++] = docId;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Value;
+
+@Value
+public class ItemSearchDocument {
+    Long id;
+    String name;
+    String description;
+    Boolean available;
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+    List<Item> search(String text, Pageable pageable);
+
+    List<Item> searchAfter(String text, long afterId, int limit);
+
+    /**
+     * Whether {@link #search} pages in id order, so an id cursor taken from its last item continues it
+     * through {@link #searchAfter}.
+     */
+    default boolean isOrderedById() {
+        return true;
+    }
+
+    default void onSaved(Item item) {
+    }
+
+    default void onDeleted(long itemId) {
+    }
+
+    default void onChanged(long itemId) {
+    }
+}
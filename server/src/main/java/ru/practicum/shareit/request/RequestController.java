@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -9,6 +10,8 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.core.pagination.CursorResponse;
 import ru.practicum.shareit.core.pagination.PaginationMapper;
 import ru.practicum.shareit.request.dto.CreateRequestDto;
 import ru.practicum.shareit.request.dto.RequestDto;
@@ -31,21 +34,49 @@ public class RequestController {
     }
 
     @GetMapping
-    public List<RequestDto> getOwnRequests(@RequestHeader(name = USER_ID_HEADER) long userId) {
-        return requestService.getOwnRequests(userId);
+    public ResponseEntity<List<RequestDto>> getOwnRequests(
+            @RequestHeader(name = USER_ID_HEADER) long userId,
+            @RequestParam(required = false) Integer from,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after
+    ) {
+        if (after != null) {
+            int limit = PaginationMapper.toLimit(size);
+            List<RequestDto> requests = requestService.getOwnRequests(userId, Cursor.decode(after, true), limit);
+
+            return CursorResponse.of(requests, limit, RequestController::toCursor);
+        }
+
+        List<RequestDto> requests = requestService.getOwnRequests(userId, PaginationMapper.toPageable(from, size));
+
+        return CursorResponse.of(requests, size, RequestController::toCursor);
     }
 
     @GetMapping("/all")
-    public List<RequestDto> getOtherRequests(
+    public ResponseEntity<List<RequestDto>> getOtherRequests(
             @RequestHeader(name = USER_ID_HEADER) long userId,
             @RequestParam(required = false) Integer from,
-            @RequestParam(required = false) Integer size
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String after
     ) {
-        return requestService.getOtherRequests(userId, PaginationMapper.toPageable(from, size));
+        if (after != null) {
+            int limit = PaginationMapper.toLimit(size);
+            List<RequestDto> requests = requestService.getOtherRequests(userId, Cursor.decode(after, true), limit);
+
+            return CursorResponse.of(requests, limit, RequestController::toCursor);
+        }
+
+        List<RequestDto> requests = requestService.getOtherRequests(userId, PaginationMapper.toPageable(from, size));
+
+        return CursorResponse.of(requests, size, RequestController::toCursor);
     }
 
     @GetMapping("/{requestId}")
     public RequestDto getById(@PathVariable long requestId, @RequestHeader(name = USER_ID_HEADER) long userId) {
         return requestService.getById(requestId, userId);
     }
+
+    private static Cursor toCursor(RequestDto request) {
+        return Cursor.of(request.getCreated(), request.getId());
+    }
 }
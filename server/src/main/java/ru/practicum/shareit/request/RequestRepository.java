@@ -1,12 +1,33 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
-    List<Request> findAllByUserIdOrderByCreatedDesc(long userId);
+    @EntityGraph(attributePaths = "user")
+    List<Request> findAllByUserIdOrderByCreatedDescIdDesc(long userId, Pageable pageable);
 
-    List<Request> findAllByUserIdIsNotOrderByCreatedDesc(long userId, Pageable pageable);
+    @EntityGraph(attributePaths = "user")
+    @Query("select r " +
+            "from Request r " +
+            "where r.user.id = ?1 " +
+            "and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) " +
+            "order by r.created desc, r.id desc")
+    List<Request> findOwnRequestsBefore(long userId, LocalDateTime created, long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    List<Request> findAllByUserIdIsNotOrderByCreatedDescIdDesc(long userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select r " +
+            "from Request r " +
+            "where r.user.id <> ?1 " +
+            "and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) " +
+            "order by r.created desc, r.id desc")
+    List<Request> findOtherRequestsBefore(long userId, LocalDateTime created, long id, Pageable pageable);
 }
@@ -1,9 +1,12 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.core.concurrent.SingleFlight;
 import ru.practicum.shareit.core.exception.NotFoundException;
+import ru.practicum.shareit.core.pagination.Cursor;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -13,17 +16,22 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RequestService {
+    private static final String REQUEST_FLIGHT = "request";
+
     private final RequestMapper requestMapper;
     private final RequestRepository requestRepository;
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
     private final UserService userService;
+    private final SingleFlight singleFlight;
 
     public RequestDto createRequest(CreateRequestDto dto, long userId) {
         User user = userService.getById(userId);
@@ -36,43 +44,63 @@ public class RequestService {
         return requestMapper.requestToRequestDto(request);
     }
 
-    public List<RequestDto> getOwnRequests(long userId) {
-        userService.getById(userId);
+    public List<RequestDto> getOwnRequests(long userId, Pageable pageable) {
+        userService.checkExists(userId);
 
-        return requestRepository.findAllByUserIdOrderByCreatedDesc(userId)
-                .stream()
-                .map(this::toRequestDto)
-                .collect(Collectors.toList());
+        return toRequestDtos(requestRepository.findAllByUserIdOrderByCreatedDescIdDesc(userId, pageable));
+    }
+
+    public List<RequestDto> getOwnRequests(long userId, Cursor after, int limit) {
+        userService.checkExists(userId);
+
+        return toRequestDtos(requestRepository.findOwnRequestsBefore(userId, after.getTimestamp(), after.getId(), PageRequest.of(0, limit)));
     }
 
     public List<RequestDto> getOtherRequests(long userId, Pageable pageable) {
-        userService.getById(userId);
+        userService.checkExists(userId);
 
-        return requestRepository.findAllByUserIdIsNotOrderByCreatedDesc(userId, pageable)
-                .stream()
-                .map(this::toRequestDto)
-                .collect(Collectors.toList());
+        return toRequestDtos(requestRepository.findAllByUserIdIsNotOrderByCreatedDescIdDesc(userId, pageable));
+    }
+
+    public List<RequestDto> getOtherRequests(long userId, Cursor after, int limit) {
+        userService.checkExists(userId);
+
+        return toRequestDtos(requestRepository.findOtherRequestsBefore(userId, after.getTimestamp(), after.getId(), PageRequest.of(0, limit)));
     }
 
     public RequestDto getById(long requestId, long userId) {
-        userService.getById(userId);
+        userService.checkExists(userId);
 
-        Request request = requestRepository
-                .findById(requestId)
-                .orElseThrow(() -> new NotFoundException("request", requestId));
+        return singleFlight.execute(REQUEST_FLIGHT, requestId, () -> {
+            Request request = requestRepository
+                    .findById(requestId)
+                    .orElseThrow(() -> new NotFoundException("request", requestId));
 
-        return toRequestDto(request);
+            return toRequestDtos(List.of(request)).get(0);
+        });
     }
 
-    private RequestDto toRequestDto(Request request) {
-        RequestDto requestDto = requestMapper.requestToRequestDto(request);
-        List<ItemDto> items = itemRepository
-                .findAllByRequestId(request.getId())
+    private List<RequestDto> toRequestDtos(List<Request> requests) {
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> requestIds = requests.stream().map(Request::getId).collect(Collectors.toList());
+        Map<Long, List<ItemDto>> itemsByRequestId = itemRepository
+                .findAllByRequestIdIn(requestIds)
                 .stream()
-                .map(itemMapper::itemToItemDto)
-                .collect(Collectors.toList());
-        requestDto.setItems(items);
+                .collect(Collectors.groupingBy(
+                        item -> item.getRequest().getId(),
+                        Collectors.mapping(itemMapper::itemToItemDto, Collectors.toList())
+                ));
 
-        return requestDto;
+        return requests
+                .stream()
+                .map(request -> {
+                    RequestDto requestDto = requestMapper.requestToRequestDto(request);
+                    requestDto.setItems(itemsByRequestId.getOrDefault(request.getId(), Collections.emptyList()));
+                    return requestDto;
+                })
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.user;
+
+import lombok.Value;
+
+@Value
+public class CachedUser {
+    Long id;
+    String name;
+    String email;
+}
@@ -6,4 +6,8 @@ import ru.practicum.shareit.user.dto.CreateUserDto;
 @Mapper(componentModel = "spring")
 public interface UserMapper {
     User createUserDtoToUser(CreateUserDto dto);
+
+    CachedUser userToCachedUser(User user);
+
+    User cachedUserToUser(CachedUser cachedUser);
 }
@@ -1,7 +1,13 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.core.cache.EntityChangedEvent;
+import ru.practicum.shareit.core.cache.EntityType;
 import ru.practicum.shareit.core.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.CreateUserDto;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
@@ -11,15 +17,55 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class UserService {
+    public static final String USERS_CACHE = "users";
+    public static final String USER_EXISTS_CACHE = "userExists";
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<User> getAll() {
         return userRepository.findAll();
     }
 
+    /**
+     * Users are cached as immutable snapshots, so every caller gets its own instance to change.
+     */
     public User getById(long id) {
-        return userRepository.findById(id).orElseThrow(() -> new NotFoundException("user", id));
+        Cache cache = cacheManager.getCache(USERS_CACHE);
+        CachedUser cachedUser = cache.get(id, CachedUser.class);
+
+        if (cachedUser != null) {
+            return userMapper.cachedUserToUser(cachedUser);
+        }
+
+        User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException("user", id));
+        cache.put(id, userMapper.userToCachedUser(user));
+
+        return user;
+    }
+
+    public boolean existsById(long id) {
+        Cache cache = cacheManager.getCache(USER_EXISTS_CACHE);
+
+        if (cache.get(id) != null) {
+            return true;
+        }
+
+        boolean exists = userRepository.existsById(id);
+
+        if (exists) {
+            cache.put(id, true);
+        }
+
+        return exists;
+    }
+
+    public void checkExists(long id) {
+        if (!existsById(id)) {
+            throw new NotFoundException("user", id);
+        }
     }
 
     public User create(CreateUserDto dto) {
@@ -28,6 +74,7 @@ public class UserService {
         return userRepository.save(newUser);
     }
 
+    @CacheEvict(cacheNames = {USERS_CACHE, USER_EXISTS_CACHE}, key = "#id")
     public User update(long id, UpdateUserDto dto) {
         User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException("user", id));
 
@@ -40,12 +87,17 @@ public class UserService {
             user.setName(dto.getName());
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.USER, id));
+
+        return savedUser;
     }
 
+    @CacheEvict(cacheNames = {USERS_CACHE, USER_EXISTS_CACHE}, key = "#id")
     public User delete(long id) {
         User user = userRepository.findById(id).orElseThrow(() -> new NotFoundException("user", id));
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new EntityChangedEvent(EntityType.USER, id));
         return user;
     }
 
@@ -0,0 +1,17 @@
+CREATE INDEX IF NOT EXISTS booking_booker_start_idx ON booking (booker_id, start_time DESC, booking_id DESC);
+
+CREATE INDEX IF NOT EXISTS booking_item_start_idx ON booking (item_id, start_time);
+
+CREATE INDEX IF NOT EXISTS booking_item_end_idx ON booking (item_id, end_time);
+
+CREATE INDEX IF NOT EXISTS item_owner_idx ON item (owner_id);
+
+CREATE INDEX IF NOT EXISTS item_request_idx ON item (request_id);
+
+CREATE INDEX IF NOT EXISTS comment_item_idx ON comment (item_id);
+
+CREATE INDEX IF NOT EXISTS comment_author_idx ON comment (author_id);
+
+CREATE INDEX IF NOT EXISTS request_user_created_idx ON request (user_id, created DESC);
+
+CREATE INDEX IF NOT EXISTS request_created_idx ON request (created DESC, request_id DESC);
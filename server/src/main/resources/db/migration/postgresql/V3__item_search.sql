@@ -0,0 +1,11 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE item
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+        GENERATED ALWAYS AS (to_tsvector('simple', name || ' ' || description)) STORED;
+
+CREATE INDEX IF NOT EXISTS item_search_vector_idx ON item USING GIN (search_vector);
+
+CREATE INDEX IF NOT EXISTS item_name_trgm_idx ON item USING GIN (upper(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS item_description_trgm_idx ON item USING GIN (upper(description) gin_trgm_ops);
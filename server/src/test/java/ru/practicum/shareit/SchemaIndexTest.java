@@ -0,0 +1,123 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+@JdbcTest
+class SchemaIndexTest {
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+    private static final int USERS = 50;
+    private static final int ITEMS = 500;
+    private static final int BOOKINGS = 10_000;
+
+    private static final List<String> HOT_QUERIES = List.of(
+            "select * from booking %s where booker_id = 7 order by start_time desc, booking_id desc",
+            "select * from booking %s where item_id = 7 and status = 'APPROVED' and start_time > current_timestamp",
+            "select * from booking %s where item_id = 7 and status = 'APPROVED' and end_time < current_timestamp",
+            "select * from item %s where owner_id = 7 order by item_id",
+            "select * from item %s where request_id = 7",
+            "select * from comment %s where item_id = 7",
+            "select * from request %s where user_id = 7 order by created desc"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void hotQueries_shouldScanOnlyMatchingRowsInsteadOfWholeTable() {
+        seed();
+
+        for (String query : HOT_QUERIES) {
+            String indexedPlan = explain(String.format(query, ""));
+            String tableScanPlan = explain(String.format(query, "use index ()"));
+
+            assertThat(indexedPlan).as(query).doesNotContain("tableScan");
+            assertThat(scanCount(indexedPlan)).as(query).isLessThan(scanCount(tableScanPlan) / 10);
+        }
+    }
+
+    @Test
+    void migrations_shouldCreateIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList("select index_name from information_schema.indexes", String.class);
+
+        assertThat(indexes).contains(
+                "BOOKING_BOOKER_START_IDX",
+                "BOOKING_ITEM_START_IDX",
+                "BOOKING_ITEM_END_IDX",
+                "ITEM_OWNER_IDX",
+                "ITEM_REQUEST_IDX",
+                "COMMENT_ITEM_IDX",
+                "COMMENT_AUTHOR_IDX",
+                "REQUEST_USER_CREATED_IDX",
+                "REQUEST_CREATED_IDX"
+        );
+    }
+
+    private void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> requests = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+
+        for (int i = 1; i <= USERS; i++) {
+            users.add(new Object[]{i, "user" + i + "@test.test", "user" + i});
+            requests.add(new Object[]{i, "request " + i, Timestamp.valueOf(now.minusDays(i)), i});
+        }
+
+        for (int i = 1; i <= ITEMS; i++) {
+            items.add(new Object[]{i, "item " + i, "description " + i, true, i % USERS + 1, i % 10 == 0 ? i % USERS + 1 : null});
+            comments.add(new Object[]{"comment " + i, i, (i + 1) % USERS + 1, Timestamp.valueOf(now)});
+        }
+
+        for (int i = 1; i <= BOOKINGS; i++) {
+            LocalDateTime start = now.plusHours(i - BOOKINGS / 2);
+            bookings.add(new Object[]{
+                    Timestamp.valueOf(start),
+                    Timestamp.valueOf(start.plusHours(2)),
+                    i % ITEMS + 1,
+                    i % USERS + 1,
+                    i % 3 == 0 ? "WAITING" : "APPROVED"
+            });
+        }
+
+        jdbcTemplate.batchUpdate("insert into users (user_id, email, name) values (?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("insert into request (request_id, description, created, user_id) values (?, ?, ?, ?)", requests);
+        jdbcTemplate.batchUpdate(
+                "insert into item (item_id, name, description, available, owner_id, request_id) values (?, ?, ?, ?, ?, ?)",
+                items
+        );
+        jdbcTemplate.batchUpdate(
+                "insert into booking (start_time, end_time, item_id, booker_id, status) values (?, ?, ?, ?, ?)",
+                bookings
+        );
+        jdbcTemplate.batchUpdate("insert into comment (text, item_id, author_id, created) values (?, ?, ?, ?)", comments);
+    }
+
+    private String explain(String query) {
+        return jdbcTemplate.queryForObject("explain analyze " + query, String.class);
+    }
+
+    private static long scanCount(String plan) {
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        long scanCount = 0;
+
+        while (matcher.find()) {
+            scanCount += Long.parseLong(matcher.group(1));
+        }
+
+        return scanCount;
+    }
+}
@@ -0,0 +1,198 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.core.exception.FieldValidationException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUserDto;
+import ru.practicum.shareit.utils.TestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS = 2000;
+    private static final int ITEMS = 4;
+    private static final int BOOKERS = 8;
+    private static final int SLOTS = 48;
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Item> items = new ArrayList<>();
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        User owner = userService.create(new CreateUserDto("owner", "concurrency-owner@test.test"));
+        users.add(owner);
+
+        for (int i = 0; i < BOOKERS; i++) {
+            users.add(userService.create(new CreateUserDto("booker", "concurrency-booker-" + i + "@test.test")));
+        }
+
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = TestUtils.makeItem(0, true, owner);
+            item.setId(null);
+            items.add(itemRepository.save(item));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        items.forEach(item -> bookingRepository.deleteAll(bookingsOf(item)));
+        itemRepository.deleteAll(items);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void create_shouldNeverDoubleBookItemUnderConcurrentOverlappingRequests() throws Exception {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Callable<Void>> attempts = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            Item item = items.get(random.nextInt(ITEMS));
+            User booker = users.get(1 + random.nextInt(BOOKERS));
+            LocalDateTime start = base.plusHours(random.nextInt(SLOTS));
+            CreateBookingDto dto = new CreateBookingDto(item.getId(), start, start.plusHours(1 + random.nextInt(3)));
+
+            attempts.add(() -> {
+                try {
+                    bookingService.create(booker.getId(), dto);
+                    created.incrementAndGet();
+                } catch (BookingConflictException exception) {
+                    conflicts.incrementAndGet();
+                }
+
+                return null;
+            });
+        }
+
+        for (Future<Void> attempt : executor.invokeAll(attempts)) {
+            attempt.get();
+        }
+
+        assertThat(created.get() + conflicts.get()).isEqualTo(ATTEMPTS);
+        assertThat(conflicts.get()).isPositive();
+
+        int stored = 0;
+
+        for (Item item : items) {
+            List<Booking> bookings = bookingsOf(item);
+            bookings.sort(Comparator.comparing(Booking::getStart));
+            stored += bookings.size();
+
+            for (int i = 1; i < bookings.size(); i++) {
+                assertThat(bookings.get(i).getStart()).isAfterOrEqualTo(bookings.get(i - 1).getEnd());
+            }
+        }
+
+        assertThat(stored).isEqualTo(created.get());
+    }
+
+    @Test
+    void create_shouldNotWaitForLockOfAnotherItem() {
+        Item locked = items.get(0);
+        Item other = items.get(1);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        CreateBookingDto dto = new CreateBookingDto(other.getId(), start, start.plusHours(1));
+
+        Booking booking = transactionTemplate.execute(status -> {
+            itemRepository.findByIdForUpdate(locked.getId());
+
+            try {
+                return executor.submit(() -> bookingService.create(users.get(1).getId(), dto)).get(5, TimeUnit.SECONDS);
+            } catch (Exception exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+
+        assertThat(booking.getId()).isNotNull();
+    }
+
+    @Test
+    void update_shouldLetOnlyOneOfConcurrentDecisionsWin() throws Exception {
+        Item item = items.get(0);
+        long ownerId = users.get(0).getId();
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Long> bookingIds = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            LocalDateTime start = base.plusHours(i);
+            bookingIds.add(bookingService.create(users.get(1).getId(), new CreateBookingDto(item.getId(), start, start.plusHours(1))).getId());
+        }
+
+        AtomicInteger decided = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Callable<Void>> decisions = new ArrayList<>();
+
+        for (long bookingId : bookingIds) {
+            for (boolean approved : new boolean[]{true, false, true, false}) {
+                decisions.add(() -> {
+                    try {
+                        bookingService.update(bookingId, ownerId, approved);
+                        decided.incrementAndGet();
+                    } catch (FieldValidationException exception) {
+                        rejected.incrementAndGet();
+                    }
+
+                    return null;
+                });
+            }
+        }
+
+        for (Future<Void> decision : executor.invokeAll(decisions)) {
+            decision.get();
+        }
+
+        assertThat(decided.get()).isEqualTo(bookingIds.size());
+        assertThat(rejected.get()).isEqualTo(bookingIds.size() * 3);
+        assertThat(bookingsOf(item)).extracting(Booking::getStatus).doesNotContain(BookingStatus.WAITING);
+    }
+
+    private List<Booking> bookingsOf(Item item) {
+        Map<Long, List<Booking>> bookingsByItem = bookingRepository.findAll()
+                .stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+
+        return new ArrayList<>(bookingsByItem.getOrDefault(item.getId(), List.of()));
+    }
+}
@@ -10,18 +10,30 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.booking.dto.BookingUpdateResultDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.booking.dto.UpdateBookingsDto;
 import ru.practicum.shareit.core.exception.ExceptionsHandler;
+import ru.practicum.shareit.core.exception.NotFoundException;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.core.pagination.CursorResponse;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +45,9 @@ class BookingControllerTest {
     @Mock
     private BookingService bookingService;
 
+    @Mock
+    private BookingExporter bookingExporter;
+
     @InjectMocks
     private BookingController bookingController;
 
@@ -66,6 +81,46 @@ class BookingControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(Collections.emptyList())));
     }
 
+    @Test
+    void getAllByBooker_shouldReturnNextCursorForFullPage() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        Cursor after = Cursor.of(start.plusDays(1), 10);
+        List<Booking> bookings = List.of(
+                new Booking(9L, start, start.plusHours(1), null, null, BookingStatus.WAITING),
+                new Booking(8L, start, start.plusHours(1), null, null, BookingStatus.WAITING)
+        );
+
+        when(bookingService.getAllByBooker(1, BookingState.ALL, after, 2)).thenReturn(bookings);
+
+        mockMvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, 1)
+                        .queryParam("after", after.encode())
+                        .queryParam("size", "2")
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorResponse.NEXT_CURSOR_HEADER, Cursor.of(start, 8).encode()));
+    }
+
+    @Test
+    void getAllByOwner_shouldNotReturnNextCursorForLastPage() throws Exception {
+        when(bookingService.getAllByOwner(anyLong(), any(), any(), anyInt())).thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(USER_ID_HEADER, 1)
+                        .queryParam("after", Cursor.of(LocalDateTime.now(), 1).encode())
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorResponse.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAllByBooker_shouldRejectMalformedCursor() throws Exception {
+        mockMvc.perform(get("/bookings").header(USER_ID_HEADER, 1).queryParam("after", Cursor.of(1).encode()))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingService);
+    }
+
     @Test
     void getByIdTest() throws Exception {
         long bookingId = 1;
@@ -111,4 +166,55 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(booking)));
     }
+
+    @Test
+    void updateAllTest() throws Exception {
+        long ownerId = 1;
+        List<BookingUpdateResultDto> results = List.of(
+                new BookingUpdateResultDto(1L, BookingUpdateOutcome.UPDATED, BookingStatus.APPROVED),
+                new BookingUpdateResultDto(2L, BookingUpdateOutcome.NOT_FOUND, null)
+        );
+
+        when(bookingService.updateAll(ownerId, List.of(1L, 2L), true)).thenReturn(results);
+
+        mockMvc.perform(patch("/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(USER_ID_HEADER, ownerId)
+                        .queryParam("approved", "true")
+                        .content(objectMapper.writeValueAsString(new UpdateBookingsDto(List.of(1L, 2L))))
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(results)));
+    }
+
+    @Test
+    void exportAllByOwnerTest() throws Exception {
+        long ownerId = 1;
+        BookingFilter filter = BookingFilter.builder().party(BookingParty.OWNER).userId(ownerId).state(BookingState.ALL).build();
+
+        when(bookingService.getExportFilter(BookingParty.OWNER, ownerId, BookingState.ALL)).thenReturn(filter);
+        when(bookingExporter.export(eq(filter), any())).thenAnswer(invocationOnMock -> {
+            OutputStream outputStream = invocationOnMock.getArgument(1);
+            outputStream.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/bookings/owner/export").header(USER_ID_HEADER, ownerId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void exportAllByBookerTest_shouldReturnNotFoundBeforeStreaming() throws Exception {
+        when(bookingService.getExportFilter(BookingParty.BOOKER, 1, BookingState.ALL)).thenThrow(new NotFoundException("user", 1));
+
+        mockMvc.perform(get("/bookings/export").header(USER_ID_HEADER, 1))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(bookingExporter);
+    }
 }
@@ -0,0 +1,236 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingUpdateResultDto;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.core.pagination.OffsetPageRequest;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.Request;
+import ru.practicum.shareit.request.RequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUserDto;
+import ru.practicum.shareit.utils.TestUtils;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Transactional
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceIntegrationTest {
+    private final BookingService bookingService;
+    private final BookingExporter bookingExporter;
+    private final ObjectMapper objectMapper;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserService userService;
+    private final RequestRepository requestRepository;
+    private final EntityManager entityManager;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userService.create(new CreateUserDto("owner", "owner@test.test"));
+        booker = userService.create(new CreateUserDto("booker", "booker@test.test"));
+        item = TestUtils.makeItem(0, true, owner);
+        item.setId(null);
+        item = itemRepository.save(item);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        for (int i = 0; i < 7; i++) {
+            LocalDateTime bookingStart = start.plusDays(i / 2);
+            bookingRepository.save(new Booking(null, bookingStart, bookingStart.plusHours(1), item, booker, BookingStatus.WAITING));
+        }
+    }
+
+    @Test
+    void getAllByBooker_shouldWalkAllPagesWithCursor() {
+        List<Long> expected = bookingRepository.findAll()
+                .stream()
+                .sorted((left, right) -> left.getStart().equals(right.getStart())
+                        ? right.getId().compareTo(left.getId())
+                        : right.getStart().compareTo(left.getStart()))
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+
+        List<Long> actual = new ArrayList<>();
+        Cursor first = Cursor.of(LocalDateTime.now().plusYears(1), Long.MAX_VALUE);
+        List<Booking> page = bookingService.getAllByBooker(booker.getId(), BookingState.FUTURE, first, 3);
+
+        while (!page.isEmpty()) {
+            page.forEach(booking -> actual.add(booking.getId()));
+
+            Booking last = page.get(page.size() - 1);
+            page = bookingService.getAllByBooker(booker.getId(), BookingState.FUTURE, Cursor.of(last.getStart(), last.getId()), 3);
+        }
+
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void getAllByOwner_shouldApplyStateWithCursor() {
+        Cursor first = Cursor.of(LocalDateTime.now().plusYears(1), Long.MAX_VALUE);
+
+        assertThat(bookingService.getAllByOwner(owner.getId(), BookingState.WAITING, first, 10)).hasSize(7);
+        assertThat(bookingService.getAllByOwner(owner.getId(), BookingState.PAST, first, 10)).isEmpty();
+        assertThat(bookingService.getAllByOwner(booker.getId(), BookingState.ALL, first, 10)).isEmpty();
+    }
+
+    @Test
+    void getAllByBooker_shouldUseExactOffset() {
+        List<Booking> all = bookingService.getAllByBooker(booker.getId(), BookingState.ALL, OffsetPageRequest.of(0, 7));
+        List<Booking> shifted = bookingService.getAllByBooker(booker.getId(), BookingState.ALL, OffsetPageRequest.of(1, 3));
+
+        assertThat(shifted).extracting(Booking::getStart).containsExactlyElementsOf(
+                all.subList(1, 4).stream().map(Booking::getStart).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void getAll_shouldFilterCurrentBookingsByBothBounds() {
+        LocalDateTime now = LocalDateTime.now();
+        Booking current = bookingRepository.save(
+                new Booking(null, now.minusHours(1), now.plusHours(1), item, booker, BookingStatus.APPROVED)
+        );
+        bookingRepository.save(new Booking(null, now.minusHours(3), now.minusHours(2), item, booker, BookingStatus.APPROVED));
+
+        assertThat(bookingService.getAllByBooker(booker.getId(), BookingState.CURRENT, null))
+                .extracting(Booking::getId)
+                .containsExactly(current.getId());
+        assertThat(bookingService.getAllByOwner(owner.getId(), BookingState.CURRENT, null))
+                .extracting(Booking::getId)
+                .containsExactly(current.getId());
+        assertThat(bookingService.getAllByOwner(owner.getId(), BookingState.PAST, null)).hasSize(1);
+    }
+
+    @Test
+    void getAll_shouldLoadPageWithAssociationsInConstantNumberOfStatements() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+
+        for (int i = 0; i < 20; i++) {
+            User requester = userService.create(new CreateUserDto("requester", "requester" + i + "@test.test"));
+            User otherBooker = userService.create(new CreateUserDto("booker", "booker" + i + "@test.test"));
+            Request request = requestRepository.save(TestUtils.makeRequest(0, start, requester));
+            Item requestedItem = TestUtils.makeItem(0, true, owner);
+            requestedItem.setId(null);
+            requestedItem.setRequest(request);
+            requestedItem = itemRepository.save(requestedItem);
+
+            bookingRepository.save(
+                    new Booking(null, start.plusHours(i), start.plusHours(i + 1), requestedItem, otherBooker, BookingStatus.WAITING)
+            );
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Booking> bookings = bookingService.getAllByOwner(owner.getId(), BookingState.ALL, OffsetPageRequest.of(0, 20));
+        bookings.forEach(booking -> {
+            assertThat(booking.getBooker().getEmail()).isNotNull();
+            assertThat(booking.getItem().getOwner().getEmail()).isNotNull();
+            assertThat(booking.getItem().getRequest().getUser().getEmail()).isNotNull();
+        });
+
+        assertThat(bookings).hasSize(20);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void updateAll_shouldApplyTransitionsInOneBatchAndReportOutcomes() {
+        List<Booking> bookings = bookingRepository.findAll();
+        Booking decided = bookings.get(0);
+        decided.setStatus(BookingStatus.REJECTED);
+        bookingRepository.save(decided);
+
+        List<Long> ids = bookings.stream().map(Booking::getId).collect(Collectors.toList());
+        ids.add(Long.MAX_VALUE);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingUpdateResultDto> results = bookingService.updateAll(owner.getId(), ids, true);
+        entityManager.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(results).extracting(BookingUpdateResultDto::getBookingId).containsExactlyElementsOf(ids);
+        assertThat(results.get(0).getOutcome()).isEqualTo(BookingUpdateOutcome.ALREADY_DECIDED);
+        assertThat(results.get(0).getStatus()).isEqualTo(BookingStatus.REJECTED);
+        assertThat(results.subList(1, bookings.size()))
+                .allSatisfy(result -> assertThat(result.getOutcome()).isEqualTo(BookingUpdateOutcome.UPDATED));
+        assertThat(results.get(bookings.size()).getOutcome()).isEqualTo(BookingUpdateOutcome.NOT_FOUND);
+
+        entityManager.clear();
+        assertThat(bookingRepository.findAll())
+                .filteredOn(booking -> !booking.getId().equals(decided.getId()))
+                .allSatisfy(booking -> assertThat(booking.getStatus()).isEqualTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void updateAll_shouldNotTouchBookingsOfOtherOwners() {
+        List<Long> ids = bookingRepository.findAll().stream().map(Booking::getId).collect(Collectors.toList());
+
+        assertThat(bookingService.updateAll(booker.getId(), ids, true))
+                .allSatisfy(result -> assertThat(result.getOutcome()).isEqualTo(BookingUpdateOutcome.NOT_FOUND));
+        assertThat(bookingRepository.findAll())
+                .allSatisfy(booking -> assertThat(booking.getStatus()).isEqualTo(BookingStatus.WAITING));
+    }
+
+    @Test
+    void export_shouldWriteOneJsonLinePerBookingFromSingleQuery() throws Exception {
+        List<Long> expected = bookingService.getAllByOwner(owner.getId(), BookingState.ALL, null)
+                .stream()
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        BookingFilter filter = bookingService.getExportFilter(BookingParty.OWNER, owner.getId(), BookingState.ALL);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long count = bookingExporter.export(filter, outputStream);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(count).isEqualTo(expected.size());
+
+        List<Long> actual = new ArrayList<>();
+
+        for (String line : outputStream.toString(StandardCharsets.UTF_8).split("\n")) {
+            Booking booking = objectMapper.readValue(line, Booking.class);
+            assertThat(booking.getItem().getOwner().getId()).isEqualTo(owner.getId());
+            actual.add(booking.getId());
+        }
+
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+}
@@ -1,23 +1,40 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingUpdateResultDto;
 import ru.practicum.shareit.booking.dto.CreateBookingDto;
+import ru.practicum.shareit.core.cache.EntityChangedEvent;
+import ru.practicum.shareit.core.cache.EntityType;
 import ru.practicum.shareit.core.exception.FieldValidationException;
 import ru.practicum.shareit.core.exception.NotFoundException;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.core.pagination.OffsetPageRequest;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.utils.TestUtils;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,89 +53,57 @@ class BookingServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookingService bookingService;
 
-    @Test
-    void getAllByBooker_shouldCallFindAllByBookerIdOrderByStartDesc() {
-        bookingService.getAllByBooker(1, BookingState.ALL, null);
-        verify(bookingRepository).findAllByBookerIdOrderByStartDesc(anyLong(), any());
-    }
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void getAllByBooker_shouldQueryBookingsOfBookerInState(BookingState state) {
+        Pageable pageable = OffsetPageRequest.of(5, 10);
 
-    @Test
-    void getAllByBooker_shouldCallFindAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc() {
-        bookingService.getAllByBooker(1, BookingState.CURRENT, null);
-        verify(bookingRepository)
-                .findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(anyLong(), any(), any(), any());
-    }
+        bookingService.getAllByBooker(1, state, pageable);
 
-    @Test
-    void getAllByBooker_shouldCallFindAllByBookerIdAndEndBeforeOrderByStartDesc() {
-        bookingService.getAllByBooker(1, BookingState.PAST, null);
-        verify(bookingRepository)
-                .findAllByBookerIdAndEndBeforeOrderByStartDesc(anyLong(), any(), any());
+        ArgumentCaptor<BookingFilter> filter = ArgumentCaptor.forClass(BookingFilter.class);
+        verify(bookingRepository).findAll(filter.capture(), eq(pageable));
+        assertThat(filter.getValue().getParty()).isEqualTo(BookingParty.BOOKER);
+        assertThat(filter.getValue().getUserId()).isEqualTo(1);
+        assertThat(filter.getValue().getState()).isEqualTo(state);
+        assertThat(filter.getValue().getNow()).isNotNull();
+        assertThat(filter.getValue().getAfter()).isNull();
     }
 
-    @Test
-    void getAllByBooker_shouldCallFindAllByBookerIdAndStartAfterOrderByStartDesc() {
-        bookingService.getAllByBooker(1, BookingState.FUTURE, null);
-        verify(bookingRepository)
-                .findAllByBookerIdAndStartAfterOrderByStartDesc(anyLong(), any(), any());
-    }
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void getAllByOwner_shouldQueryBookingsOfOwnerInState(BookingState state) {
+        bookingService.getAllByOwner(1, state, null);
 
-    @Test
-    void getAllByBooker_shouldCallFindAllByBookerIdAndStatusOrderByStartDescWithStatusWaiting() {
-        bookingService.getAllByBooker(1, BookingState.WAITING, null);
-        verify(bookingRepository)
-                .findAllByBookerIdAndStatusOrderByStartDesc(1, BookingStatus.WAITING, null);
+        ArgumentCaptor<BookingFilter> filter = ArgumentCaptor.forClass(BookingFilter.class);
+        verify(bookingRepository).findAll(filter.capture(), isNull());
+        assertThat(filter.getValue().getParty()).isEqualTo(BookingParty.OWNER);
+        assertThat(filter.getValue().getState()).isEqualTo(state);
     }
 
     @Test
-    void getAllByBooker_shouldCallFindAllByBookerIdAndStatusOrderByStartDescWithStatusRejected() {
-        bookingService.getAllByBooker(1, BookingState.REJECTED, null);
-        verify(bookingRepository)
-                .findAllByBookerIdAndStatusOrderByStartDesc(1, BookingStatus.REJECTED, null);
-    }
+    void getAllByOwner_shouldPassCursorAndLimit() {
+        Cursor after = Cursor.of(LocalDateTime.now(), 3);
 
-    @Test
-    void getAllByOwner_shouldCallFindAllByItemOwnerIdOrderByStartDesc() {
-        bookingService.getAllByOwner(1, BookingState.ALL, null);
-        verify(bookingRepository).findAllByItemOwnerIdOrderByStartDesc(anyLong(), any());
-    }
+        bookingService.getAllByOwner(1, BookingState.ALL, after, 20);
 
-    @Test
-    void getAllByOwner_shouldCallFindAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc() {
-        bookingService.getAllByOwner(1, BookingState.CURRENT, null);
-        verify(bookingRepository)
-                .findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(anyLong(), any(), any(), any());
+        ArgumentCaptor<BookingFilter> filter = ArgumentCaptor.forClass(BookingFilter.class);
+        verify(bookingRepository).findAll(filter.capture(), eq(PageRequest.of(0, 20)));
+        assertThat(filter.getValue().getAfter()).isEqualTo(after);
     }
 
     @Test
-    void getAllByOwner_shouldCallFindAllByItemOwnerIdAndEndBeforeOrderByStartDesc() {
-        bookingService.getAllByOwner(1, BookingState.PAST, null);
-        verify(bookingRepository)
-                .findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(anyLong(), any(), any());
-    }
+    void getAllByBooker_shouldThrowNotFoundIfUserIsNotExists() {
+        doThrow(new NotFoundException("user", 1)).when(userService).checkExists(1);
 
-    @Test
-    void getAllByOwner_shouldCallFindAllByItemOwnerIdAndStartAfterOrderByStartDesc() {
-        bookingService.getAllByOwner(1, BookingState.FUTURE, null);
-        verify(bookingRepository)
-                .findAllByItemOwnerIdAndStartAfterOrderByStartDesc(anyLong(), any(), any());
-    }
-
-    @Test
-    void getAllByOwner_shouldCallFindAllByItemOwnerIdAndStatusOrderByStartDescWithStatusWaiting() {
-        bookingService.getAllByOwner(1, BookingState.WAITING, null);
-        verify(bookingRepository)
-                .findAllByItemOwnerIdAndStatusOrderByStartDesc(1, BookingStatus.WAITING, null);
-    }
-
-    @Test
-    void getAllByOwner_shouldCallFindAllByItemOwnerIdAndStatusOrderByStartDescWithStatusRejected() {
-        bookingService.getAllByOwner(1, BookingState.REJECTED, null);
-        verify(bookingRepository)
-                .findAllByItemOwnerIdAndStatusOrderByStartDesc(1, BookingStatus.REJECTED, null);
+        assertThatThrownBy(() -> bookingService.getAllByBooker(1, BookingState.ALL, null))
+                .isInstanceOf(NotFoundException.class);
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
@@ -138,7 +123,7 @@ class BookingServiceTest {
         long itemId = 1;
         CreateBookingDto dto = new CreateBookingDto(itemId, LocalDateTime.now(), LocalDateTime.now());
 
-        when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> bookingService.create(userId, dto)).isInstanceOf(NotFoundException.class);
     }
@@ -150,7 +135,7 @@ class BookingServiceTest {
         CreateBookingDto dto = new CreateBookingDto(itemId, LocalDateTime.now(), LocalDateTime.now());
         Item item = TestUtils.makeItem(itemId, false, null);
 
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
 
         assertThatThrownBy(() -> bookingService.create(userId, dto)).isInstanceOf(FieldValidationException.class);
     }
@@ -163,7 +148,7 @@ class BookingServiceTest {
         User user = TestUtils.makeUser(userId);
         Item item = TestUtils.makeItem(itemId, true, user);
 
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
 
         assertThatThrownBy(() -> bookingService.create(userId, dto)).isInstanceOf(NotFoundException.class);
     }
@@ -176,7 +161,7 @@ class BookingServiceTest {
         User user = TestUtils.makeUser(2);
         Item item = TestUtils.makeItem(itemId, true, user);
 
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
 
         assertThatThrownBy(() -> bookingService.create(userId, dto)).isInstanceOf(FieldValidationException.class);
     }
@@ -189,12 +174,61 @@ class BookingServiceTest {
         User user = TestUtils.makeUser(2);
         Item item = TestUtils.makeItem(itemId, true, user);
 
-        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(bookingRepository.save(any())).thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.saveAndFlush(any())).thenAnswer(invocationOnMock -> {
+            Booking savedBooking = invocationOnMock.getArgument(0);
+            savedBooking.setId(5L);
+            return savedBooking;
+        });
 
         Booking booking = bookingService.create(userId, dto);
 
+        verify(eventPublisher).publishEvent(new EntityChangedEvent(EntityType.BOOKING, 5));
         assertThat(booking).hasFieldOrProperty("id");
+        assertThat(booking.getStatus()).isEqualTo(BookingStatus.WAITING);
+    }
+
+    @Test
+    void create_shouldThrowConflictIfPeriodOverlapsExistingBooking() {
+        long userId = 1;
+        long itemId = 1;
+        CreateBookingDto dto = new CreateBookingDto(itemId, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        Item item = TestUtils.makeItem(itemId, true, TestUtils.makeUser(2));
+
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.existsOverlapping(eq(itemId), any(), eq(dto.getStart()), eq(dto.getEnd()))).thenReturn(true);
+
+        assertThatThrownBy(() -> bookingService.create(userId, dto)).isInstanceOf(BookingConflictException.class);
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void create_shouldThrowConflictIfOverlapConstraintIsViolated() {
+        long userId = 1;
+        long itemId = 1;
+        CreateBookingDto dto = new CreateBookingDto(itemId, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        Item item = TestUtils.makeItem(itemId, true, TestUtils.makeUser(2));
+
+        SQLException exclusionViolation = new SQLException(
+                "conflicting key value violates exclusion constraint \"booking_item_period_excl\"", "23P01"
+        );
+        SQLException foreignKeyViolation = new SQLException(
+                "insert or update on table \"booking\" violates foreign key constraint \"booking_booker_id_fkey\"", "23503"
+        );
+
+        when(itemRepository.findByIdForUpdate(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement", new ConstraintViolationException(
+                        "could not execute statement", exclusionViolation, null
+                )))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement", new ConstraintViolationException(
+                        "could not execute statement", foreignKeyViolation, "booking_booker_id_fkey"
+                )));
+
+        assertThatThrownBy(() -> bookingService.create(userId, dto)).isInstanceOf(BookingConflictException.class);
+        assertThatThrownBy(() -> bookingService.create(userId, dto))
+                .isExactlyInstanceOf(DataIntegrityViolationException.class)
+                .hasRootCause(foreignKeyViolation);
     }
 
     @Test
@@ -202,6 +236,7 @@ class BookingServiceTest {
         long bookingId = 1;
         long userId = 1;
 
+        when(bookingRepository.updateStatus(bookingId, userId, BookingStatus.WAITING, BookingStatus.APPROVED)).thenReturn(0);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> bookingService.update(bookingId, userId, true)).isInstanceOf(NotFoundException.class);
@@ -216,6 +251,7 @@ class BookingServiceTest {
         Item item = TestUtils.makeItem(itemId, true, user);
         Booking booking = new Booking(bookingId, LocalDateTime.now(), LocalDateTime.now(), item, user, BookingStatus.WAITING);
 
+        when(bookingRepository.updateStatus(bookingId, 2, BookingStatus.WAITING, BookingStatus.APPROVED)).thenReturn(0);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         assertThatThrownBy(() -> bookingService.update(bookingId, 2, true)).isInstanceOf(NotFoundException.class);
@@ -230,26 +266,51 @@ class BookingServiceTest {
         Item item = TestUtils.makeItem(itemId, true, user);
         Booking booking = new Booking(bookingId, LocalDateTime.now(), LocalDateTime.now(), item, user, BookingStatus.APPROVED);
 
+        when(bookingRepository.updateStatus(bookingId, userId, BookingStatus.WAITING, BookingStatus.APPROVED)).thenReturn(0);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         assertThatThrownBy(() -> bookingService.update(bookingId, userId, true)).isInstanceOf(FieldValidationException.class);
     }
 
     @Test
-    void update_shouldUpdateBookingToApproved() {
+    void update_shouldUpdateBookingToApprovedWithSingleConditionalStatement() {
         long bookingId = 1;
         long userId = 1;
         long itemId = 1;
         User user = TestUtils.makeUser(userId);
         Item item = TestUtils.makeItem(itemId, true, user);
-        Booking booking = new Booking(bookingId, LocalDateTime.now(), LocalDateTime.now(), item, user, BookingStatus.WAITING);
+        Booking booking = new Booking(bookingId, LocalDateTime.now(), LocalDateTime.now(), item, user, BookingStatus.APPROVED);
 
+        when(bookingRepository.updateStatus(bookingId, userId, BookingStatus.WAITING, BookingStatus.APPROVED)).thenReturn(1);
         when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any())).thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
 
         booking = bookingService.update(bookingId, userId, true);
 
+        InOrder inOrder = inOrder(bookingRepository);
         assertThat(booking.getStatus()).isEqualTo(BookingStatus.APPROVED);
+        inOrder.verify(bookingRepository).updateStatus(bookingId, userId, BookingStatus.WAITING, BookingStatus.APPROVED);
+        inOrder.verify(bookingRepository).findById(bookingId);
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void updateAll_shouldThrowFieldValidationExceptionIfBookingIdsAreMissing() {
+        assertThatThrownBy(() -> bookingService.updateAll(1, null, true)).isInstanceOf(FieldValidationException.class);
+        assertThatThrownBy(() -> bookingService.updateAll(1, List.of(), true)).isInstanceOf(FieldValidationException.class);
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void updateAll_shouldNotLoadBookingsIfNoneBelongsToOwner() {
+        long ownerId = 1;
+        List<Long> bookingIds = List.of(1L, 2L);
+
+        when(bookingRepository.lockAllByIdInAndOwnerId(Set.of(1L, 2L), ownerId)).thenReturn(List.of());
+
+        assertThat(bookingService.updateAll(ownerId, bookingIds, true))
+                .extracting(BookingUpdateResultDto::getBookingId, BookingUpdateResultDto::getOutcome)
+                .containsExactly(tuple(1L, BookingUpdateOutcome.NOT_FOUND), tuple(2L, BookingUpdateOutcome.NOT_FOUND));
+        verify(bookingRepository, never()).findAllWithItemById(any());
     }
 
     @Test
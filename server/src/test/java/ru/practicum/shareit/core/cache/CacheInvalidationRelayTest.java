@@ -0,0 +1,69 @@
+package ru.practicum.shareit.core.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUserDto;
+import ru.practicum.shareit.user.dto.UpdateUserDto;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class CacheInvalidationRelayTest {
+    private final CacheInvalidationBus bus;
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Test
+    void update_shouldPublishChangeToOtherReplicas() {
+        List<CacheInvalidationMessage> messages = new CopyOnWriteArrayList<>();
+        bus.subscribe(messages::add);
+        User user = userService.create(new CreateUserDto("published", "published@test.test"));
+
+        userService.update(user.getId(), new UpdateUserDto("renamed", null));
+
+        assertThat(messages)
+                .anySatisfy(message -> {
+                    assertThat(message.getType()).isEqualTo(EntityType.USER);
+                    assertThat(message.getId()).isEqualTo(user.getId());
+                    assertThat(message.getOrigin()).isNotBlank();
+                });
+    }
+
+    @Test
+    void messageFromOtherReplica_shouldEvictCachedUserAndRecordLag() {
+        User user = userService.create(new CreateUserDto("stale", "stale@test.test"));
+        userService.getById(user.getId());
+
+        User changedElsewhere = userRepository.findById(user.getId()).orElseThrow();
+        changedElsewhere.setName("fresh");
+        userRepository.save(changedElsewhere);
+
+        assertThat(userService.getById(user.getId()).getName()).isEqualTo("stale");
+
+        bus.publish(new CacheInvalidationMessage(EntityType.USER, user.getId(), "other-replica", System.currentTimeMillis() - 5));
+
+        assertThat(userService.getById(user.getId()).getName()).isEqualTo("fresh");
+        assertThat(meterRegistry.get("shareit.cache.invalidation.lag").tag("type", "USER").timer().count()).isPositive();
+    }
+
+    @Test
+    void message_shouldSurviveEncoding() {
+        CacheInvalidationMessage message = new CacheInvalidationMessage(EntityType.ITEM, 42, "replica-1", 1700000000000L);
+
+        assertThat(CacheInvalidationMessage.decode(message.encode())).isEqualTo(message);
+        assertThatThrownBy(() -> CacheInvalidationMessage.decode("ITEM|42")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.core.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.core.exception.NotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SingleFlightTest {
+    private static final int CALLERS = 8;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_shouldShareOneComputationBetweenConcurrentCallers() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, 100);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> results = submitConcurrently(() -> singleFlight.execute("item", 1L, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return new Object();
+        }));
+        waitForCoalesced(CALLERS - 1);
+        release.countDown();
+
+        Object first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<Object> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("shareit.single-flight.coalescing.ratio").tag("group", "item").gauge().value())
+                .isEqualTo((double) (CALLERS - 1) / CALLERS);
+    }
+
+    @Test
+    void execute_shouldRethrowLoaderExceptionToEveryCaller() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, 100);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> results = submitConcurrently(() -> singleFlight.execute("item", 1L, () -> {
+            await(release);
+            throw new NotFoundException("item", 1);
+        }));
+        waitForCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(NotFoundException.class);
+        }
+    }
+
+    @Test
+    void execute_shouldNotShareComputationsOfDifferentKeysOrGroups() {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, 100);
+
+        Object nested = singleFlight.execute("item", 1L, () -> List.of(
+                singleFlight.execute("item", 2L, () -> "second"),
+                singleFlight.execute("item-owner", 1L, () -> "owner")
+        ));
+
+        assertThat(nested).isEqualTo(List.of("second", "owner"));
+        assertThat(meterRegistry.get("shareit.single-flight.coalesced").tag("group", "item").counter().count()).isZero();
+    }
+
+    @Test
+    void execute_shouldRunLoaderDirectlyWhenLimitIsReached() {
+        SingleFlight singleFlight = new SingleFlight(meterRegistry, 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("item", 1L, loads::incrementAndGet);
+        singleFlight.execute("item", 1L, loads::incrementAndGet);
+
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.get("shareit.single-flight.bypassed").tag("group", "item").counter().count()).isEqualTo(2);
+    }
+
+    private List<Future<Object>> submitConcurrently(Callable<Object> call) {
+        List<Future<Object>> results = new ArrayList<>();
+
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+
+        return results;
+    }
+
+    private void waitForCoalesced(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (coalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThat(coalesced()).isEqualTo(expected);
+    }
+
+    private double coalesced() {
+        return meterRegistry.find("shareit.single-flight.coalesced").tag("group", "item").counters()
+                .stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
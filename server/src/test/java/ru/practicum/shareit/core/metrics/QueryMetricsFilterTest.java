@@ -0,0 +1,94 @@
+package ru.practicum.shareit.core.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CreateItemDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUserDto;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.query-budget.handlers[ItemController.getByUserId]=1")
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class QueryMetricsFilterTest {
+    private final MockMvc mockMvc;
+    private final MeterRegistry meterRegistry;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    @Test
+    void filter_shouldRecordStatementsAndRowsPerEndpoint() throws Exception {
+        User owner = userService.create(new CreateUserDto("owner", "metrics-owner@test.test"));
+        itemService.create(owner.getId(), new CreateItemDto("drill", "metrics drill", true, null));
+        itemService.create(owner.getId(), new CreateItemDto("saw", "metrics saw", true, null));
+
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get(QueryMetricsFilter.STATEMENTS)
+                .tag("handler", "ItemController.getByUserId")
+                .tag("uri", "/items")
+                .summary();
+        DistributionSummary rows = meterRegistry.get(QueryMetricsFilter.ROWS)
+                .tag("handler", "ItemController.getByUserId")
+                .tag("uri", "/items")
+                .summary();
+
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isPositive();
+        assertThat(rows.totalAmount()).isGreaterThanOrEqualTo(2);
+        assertThat(meterRegistry.get("http.server.requests").tag("handler", "ItemController.getByUserId").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(QueryMetricsFilter.BUDGET_EXCEEDED)
+                .tag("handler", "ItemController.getByUserId")
+                .tag("reason", "statements")
+                .counter()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void queryCount_shouldReportStatementsRepeatedOverLimit() {
+        QueryCount count = new QueryCount();
+
+        for (int i = 0; i < 4; i++) {
+            count.statementExecuted(List.of("select * from item where owner_id=?"));
+        }
+        count.statementExecuted(List.of("select * from users where id=?"));
+
+        assertThat(count.getStatements()).isEqualTo(5);
+        assertThat(count.getRepeatedStatements(3)).containsOnlyKeys("select * from item where owner_id=?");
+        assertThat(count.getRepeatedStatements(4)).isEmpty();
+    }
+
+    @Test
+    void prometheus_shouldExposeLatencyHistograms() throws Exception {
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("handler=\"UserController.getAll\"")))
+                .andExpect(content().string(containsString("shareit_db_statements_bucket")))
+                .andExpect(content().string(containsString("cache_gets_total")));
+    }
+}
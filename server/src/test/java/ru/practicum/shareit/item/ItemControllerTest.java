@@ -17,6 +17,8 @@ import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CreateCommentDto;
 import ru.practicum.shareit.core.exception.ExceptionsHandler;
 import ru.practicum.shareit.core.exception.NotFoundException;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.core.pagination.CursorResponse;
 import ru.practicum.shareit.item.dto.CreateItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
@@ -33,6 +35,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -104,6 +107,36 @@ class ItemControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(items)));
     }
 
+    @Test
+    void search_shouldReturnNextCursorForIdOrderedPage() throws Exception {
+        List<ItemDto> items = Stream.of(
+                TestUtils.makeItem(1, true, null),
+                TestUtils.makeItem(2, true, null)
+        ).map(itemMapper::itemToItemDto).collect(Collectors.toList());
+
+        when(itemService.search(anyString(), any())).thenReturn(items);
+        when(itemService.isSearchOrderedById()).thenReturn(true);
+
+        mockMvc.perform(get("/items/search").queryParam("text", "test").queryParam("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorResponse.NEXT_CURSOR_HEADER, Cursor.of(2).encode()));
+    }
+
+    @Test
+    void search_shouldNotReturnNextCursorForRankedPage() throws Exception {
+        List<ItemDto> items = Stream.of(
+                TestUtils.makeItem(2, true, null),
+                TestUtils.makeItem(1, true, null)
+        ).map(itemMapper::itemToItemDto).collect(Collectors.toList());
+
+        when(itemService.search(anyString(), any())).thenReturn(items);
+        when(itemService.isSearchOrderedById()).thenReturn(false);
+
+        mockMvc.perform(get("/items/search").queryParam("text", "test").queryParam("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorResponse.NEXT_CURSOR_HEADER));
+    }
+
     @Test
     void getById_shouldReturnItem() throws Exception {
         long itemId = 1;
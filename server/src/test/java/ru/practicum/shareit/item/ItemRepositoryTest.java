@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.utils.TestUtils;
@@ -55,4 +56,21 @@ class ItemRepositoryTest {
 
         assertThat(itemRepository.findAllByText("aBc", null)).hasSize(2);
     }
+
+    @Test
+    void findAllByTextAfter_shouldReturnNextItemsById() {
+        User user = userRepository.save(TestUtils.makeUser(1));
+        long[] ids = new long[4];
+
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = itemRepository.save(new Item(null, "drill " + i, "description", true, user, null, null, null, null)).getId();
+        }
+
+        assertThat(itemRepository.findAllByTextAfter("DRILL", ids[0], PageRequest.of(0, 2)))
+                .extracting(Item::getId)
+                .containsExactly(ids[1], ids[2]);
+        assertThat(itemRepository.findAllByTextAfter("DRILL", ids[2], PageRequest.of(0, 2)))
+                .extracting(Item::getId)
+                .containsExactly(ids[3]);
+    }
 }
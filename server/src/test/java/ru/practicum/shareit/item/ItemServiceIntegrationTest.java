@@ -1,27 +1,47 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.comment.CommentRepository;
+import ru.practicum.shareit.core.metrics.QueryCounter;
+import ru.practicum.shareit.core.pagination.Cursor;
 import ru.practicum.shareit.item.dto.CreateItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.CreateUserDto;
+import ru.practicum.shareit.utils.QueryBudget;
 import ru.practicum.shareit.utils.TestUtils;
 
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @AutoConfigureTestDatabase
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ItemServiceIntegrationTest {
     private final ItemService itemService;
     private final UserService userService;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final QueryCounter queryCounter;
 
     @Test
     void shouldCreateItemsAndGetByUserId() {
@@ -40,4 +60,67 @@ class ItemServiceIntegrationTest {
 
         assertThat(items).hasSize(3);
     }
+
+    @Test
+    void getByUserId_shouldIssueSameNumberOfQueriesForAnyPageSize() {
+        User owner = userService.create(new CreateUserDto("owner", "owner@test.test"));
+        User booker = userService.create(new CreateUserDto("booker", "booker@test.test"));
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < 8; i++) {
+            Item item = itemRepository.findById(itemService.create(owner.getId(), TestUtils.makeCreateItemDto(true, null)).getId())
+                    .orElseThrow();
+
+            for (int j = 1; j <= 3; j++) {
+                bookingRepository.save(new Booking(null, now.minusDays(j + 1), now.minusDays(j), item, booker, BookingStatus.APPROVED));
+                bookingRepository.save(new Booking(null, now.plusDays(j), now.plusDays(j + 1), item, booker, BookingStatus.APPROVED));
+            }
+
+            commentRepository.save(new Comment(0, "comment", item, booker, now));
+        }
+
+        long smallPageQueries = countQueries(() -> itemService.getByUserId(owner.getId(), PageRequest.of(0, 2)));
+        long fullPageQueries = countQueries(() -> itemService.getByUserId(owner.getId(), PageRequest.of(0, 8)));
+
+        assertThat(smallPageQueries).isLessThanOrEqualTo(4);
+        assertThat(fullPageQueries).isEqualTo(smallPageQueries);
+
+        List<ItemDto> items = QueryBudget.assertWithin(queryCounter, 4, () -> itemService.getByUserId(owner.getId(), null));
+
+        assertThat(items).hasSize(8);
+        assertThat(items).allSatisfy(item -> {
+            assertThat(item.getLastBooking()).isNotNull();
+            assertThat(item.getNextBooking()).isNotNull();
+            assertThat(item.getComments()).hasSize(1);
+        });
+    }
+
+    private long countQueries(Runnable runnable) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        runnable.run();
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void search_shouldContinueFirstPageWithCursorPage() {
+        User owner = userService.create(new CreateUserDto("owner", "search-owner@test.test"));
+
+        for (int i = 0; i < 7; i++) {
+            itemService.create(owner.getId(), new CreateItemDto("paged drill " + i, "cordless", true, null));
+        }
+
+        itemService.create(owner.getId(), new CreateItemDto("hammer", "steel", true, null));
+
+        List<ItemDto> all = itemService.search("paged drill", null);
+        List<ItemDto> firstPage = itemService.search("paged drill", PageRequest.of(0, 4));
+        Cursor cursor = Cursor.of(firstPage.get(firstPage.size() - 1).getId());
+        List<ItemDto> nextPage = itemService.search("paged drill", cursor, 10);
+
+        assertThat(itemService.isSearchOrderedById()).isTrue();
+        assertThat(all).hasSize(7);
+        assertThat(Stream.concat(firstPage.stream(), nextPage.stream()).map(ItemDto::getId))
+                .containsExactlyElementsOf(all.stream().map(ItemDto::getId).collect(Collectors.toList()));
+    }
 }
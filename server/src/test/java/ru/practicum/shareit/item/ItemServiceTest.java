@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
@@ -7,18 +8,25 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
 import ru.practicum.shareit.comment.CommentMapper;
 import ru.practicum.shareit.comment.CommentRepository;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CreateCommentDto;
+import ru.practicum.shareit.core.cache.EntityChangedEvent;
+import ru.practicum.shareit.core.cache.EntityType;
+import ru.practicum.shareit.core.concurrent.SingleFlight;
+import ru.practicum.shareit.core.exception.FieldValidationException;
 import ru.practicum.shareit.core.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CreateItemDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.UpdateItemDto;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.Request;
 import ru.practicum.shareit.request.RequestRepository;
 import ru.practicum.shareit.user.User;
@@ -51,6 +59,9 @@ class ItemServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+
     @Spy
     private ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
 
@@ -60,6 +71,12 @@ class ItemServiceTest {
     @Spy
     private BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry(), 100);
+
     @InjectMocks
     private ItemService itemService;
 
@@ -80,7 +97,7 @@ class ItemServiceTest {
                 .map(itemMapper::itemToItemDto)
                 .collect(Collectors.toList());
 
-        when(itemRepository.findAllByText(anyString(), any())).thenReturn(items);
+        when(itemSearchEngine.search(anyString(), any())).thenReturn(items);
         assertThat(itemService.search("text", null)).isEqualTo(itemDtos);
     }
 
@@ -101,10 +118,15 @@ class ItemServiceTest {
 
         when(userService.getById(userId)).thenReturn(user);
         when(requestRepository.findById(userId)).thenReturn(Optional.of(request));
-        when(itemRepository.save(any())).thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
+        when(itemRepository.save(any())).thenAnswer(invocationOnMock -> {
+            Item item = invocationOnMock.getArgument(0);
+            item.setId(7L);
+            return item;
+        });
 
         ItemDto itemDto = itemService.create(userId, createItemDto);
 
+        verify(eventPublisher).publishEvent(new EntityChangedEvent(EntityType.ITEM, 7));
         assertThat(itemDto.getRequestId()).isEqualTo(requestId);
         assertThat(itemDto.getAvailable()).isTrue();
         assertThat(itemDto.getComments()).isNull();
@@ -192,11 +214,7 @@ class ItemServiceTest {
 
         when(userService.getById(userId)).thenReturn(user);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
-        when(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(
-                anyLong(),
-                any(),
-                any()
-        )).thenReturn(List.of(new Booking(1L, LocalDateTime.now(), LocalDateTime.now(), item, user, BookingStatus.APPROVED)));
+        when(bookingRepository.existsByItemIdAndBookerIdAndEndBefore(eq(itemId), eq(userId), any())).thenReturn(true);
         when(commentRepository.save(any())).thenAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
 
         CommentDto commentDto = itemService.comment(itemId, userId, createCommentDto);
@@ -204,6 +222,22 @@ class ItemServiceTest {
         assertThat(commentDto.getAuthorName()).isEqualTo(user.getName());
     }
 
+    @Test
+    void comment_shouldThrowFieldValidationExceptionIfUserDidNotBookItem() {
+        long itemId = 1;
+        long userId = 1;
+        User user = TestUtils.makeUser(userId);
+        Item item = TestUtils.makeItem(itemId, true, user);
+
+        when(userService.getById(userId)).thenReturn(user);
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItemIdAndBookerIdAndEndBefore(eq(itemId), eq(userId), any())).thenReturn(false);
+
+        assertThatThrownBy(() -> itemService.comment(itemId, userId, new CreateCommentDto("new comment")))
+                .isInstanceOf(FieldValidationException.class);
+        verify(commentRepository, never()).save(any());
+    }
+
     @Test
     void delete_shouldDeleteItemAndReturnDeletedItem() {
         long itemId = 1;
@@ -224,9 +258,48 @@ class ItemServiceTest {
         Item item = TestUtils.makeItem(itemId, true, user);
 
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
-        when(bookingRepository.findAllByItemIdOrderByStartAsc(anyLong())).thenReturn(Collections.emptyList());
+        when(bookingRepository.findNextBookings(anyLong(), any(), any(), any())).thenReturn(Collections.emptyList());
+        when(bookingRepository.findLastBookings(anyLong(), any(), any(), any())).thenReturn(Collections.emptyList());
         when(commentRepository.findAllByItemId(anyLong())).thenReturn(Collections.emptyList());
 
         assertThat(itemService.getById(itemId, userId)).isEqualTo(itemMapper.itemToItemDto(item));
     }
+
+    @Test
+    void getById_shouldReturnApprovedLastAndNextBookingsForOwner() {
+        long itemId = 1;
+        long userId = 1;
+        User user = TestUtils.makeUser(userId);
+        Item item = TestUtils.makeItem(itemId, true, user);
+        ShortBookingDto nextBooking = new ShortBookingDto(2L, 3L);
+        ShortBookingDto lastBooking = new ShortBookingDto(1L, 3L);
+
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(bookingRepository.findNextBookings(eq(itemId), eq(BookingStatus.APPROVED), any(), any()))
+                .thenReturn(List.of(nextBooking));
+        when(bookingRepository.findLastBookings(eq(itemId), eq(BookingStatus.APPROVED), any(), any()))
+                .thenReturn(List.of(lastBooking));
+        when(commentRepository.findAllByItemId(itemId)).thenReturn(Collections.emptyList());
+
+        ItemDto itemDto = itemService.getById(itemId, userId);
+
+        assertThat(itemDto.getNextBooking()).isEqualTo(nextBooking);
+        assertThat(itemDto.getLastBooking()).isEqualTo(lastBooking);
+    }
+
+    @Test
+    void getById_shouldNotLoadBookingsForNotOwner() {
+        long itemId = 1;
+        User user = TestUtils.makeUser(1);
+        Item item = TestUtils.makeItem(itemId, true, user);
+
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(commentRepository.findAllByItemId(itemId)).thenReturn(Collections.emptyList());
+
+        ItemDto itemDto = itemService.getById(itemId, 2);
+
+        assertThat(itemDto.getNextBooking()).isNull();
+        assertThat(itemDto.getLastBooking()).isNull();
+        verifyNoInteractions(bookingRepository);
+    }
 }
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.ItemRepository;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FullTextItemSearchEngineTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private FullTextItemSearchEngine itemSearchEngine;
+
+    @Test
+    void toPrefixQuery_shouldJoinNormalizedTokensAsPrefixes() {
+        assertThat(FullTextItemSearchEngine.toPrefixQuery("  ДРЕль акку-Мулятор!"))
+                .isEqualTo("дрель:* & акку:* & мулятор:*");
+    }
+
+    @Test
+    void toPrefixQuery_shouldDropTsQueryOperators() {
+        assertThat(FullTextItemSearchEngine.toPrefixQuery("saw | (drill) & !hammer:*"))
+                .isEqualTo("saw:* & drill:* & hammer:*");
+    }
+
+    @Test
+    void search_shouldNotQueryRepositoryIfThereAreNoTokens() {
+        assertThat(itemSearchEngine.search("!? --", null)).isEmpty();
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void search_shouldQueryRepositoryWithPrefixQuery() {
+        itemSearchEngine.search("Drill", null);
+        verify(itemRepository).findAllByFullText("drill:*", null);
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndexItemSearchEngineTest {
+    @Mock
+    private ItemRepository itemRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IndexItemSearchEngine itemSearchEngine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        itemSearchEngine = new IndexItemSearchEngine(itemRepository, meterRegistry);
+    }
+
+    @Test
+    void search_shouldFallBackToRepositoryUntilIndexIsBuilt() {
+        itemSearchEngine.search("drill", null);
+
+        verify(itemRepository).findAllByText("drill", null);
+    }
+
+    @Test
+    void rebuild_shouldLoadItemsInBatchesAndRecordMetrics() {
+        when(itemRepository.findSearchDocuments(eq(0L), any())).thenReturn(List.of(
+                new ItemSearchDocument(1L, "Drill", "desc", true),
+                new ItemSearchDocument(2L, "Saw", "desc", true)
+        ));
+        when(itemRepository.findSearchDocuments(eq(2L), any())).thenReturn(List.of(
+                new ItemSearchDocument(3L, "Drill", "desc", false)
+        ));
+        when(itemRepository.findSearchDocuments(eq(3L), any())).thenReturn(List.of());
+
+        itemSearchEngine.rebuild();
+
+        assertThat(meterRegistry.get("shareit.search.index.size").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("shareit.search.index.rebuild").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void search_shouldLoadMatchedItemsOrderedById() {
+        when(itemRepository.findSearchDocuments(anyLong(), any())).thenReturn(List.of());
+        itemSearchEngine.rebuild();
+
+        Item item1 = makeItem(1L, "Drill");
+        Item item2 = makeItem(2L, "Drill");
+        Item item3 = makeItem(3L, "Drill");
+        itemSearchEngine.onSaved(item2);
+        itemSearchEngine.onSaved(item1);
+        itemSearchEngine.onSaved(item3);
+        itemSearchEngine.onDeleted(3L);
+
+        when(itemRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(item2, item1));
+
+        assertThat(itemSearchEngine.search("dri", PageRequest.of(0, 10))).containsExactly(item1, item2);
+    }
+
+    @Test
+    void search_shouldNotQueryRepositoryIfNothingMatched() {
+        when(itemRepository.findSearchDocuments(anyLong(), any())).thenReturn(List.of());
+        itemSearchEngine.rebuild();
+
+        assertThat(itemSearchEngine.search("drill", null)).isEmpty();
+        verify(itemRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void rebuild_shouldReadAgainItemsChangedWhileBatchesWereLoaded() {
+        when(itemRepository.findSearchDocuments(eq(0L), any())).thenAnswer(invocation -> {
+            itemSearchEngine.onSaved(makeItem(1L, "Hammer"));
+            itemSearchEngine.onDeleted(2L);
+
+            return List.of(
+                    new ItemSearchDocument(1L, "Drill", "desc", true),
+                    new ItemSearchDocument(2L, "Saw", "desc", true)
+            );
+        });
+        when(itemRepository.findSearchDocuments(eq(2L), any())).thenReturn(List.of());
+        when(itemRepository.findSearchDocumentsByIdIn(Set.of(1L, 2L)))
+                .thenReturn(List.of(new ItemSearchDocument(1L, "Hammer", "desc", true)));
+
+        itemSearchEngine.rebuild();
+
+        assertThat(meterRegistry.get("shareit.search.index.size").gauge().value()).isEqualTo(1);
+        assertThat(itemSearchEngine.search("drill", null)).isEmpty();
+        assertThat(itemSearchEngine.search("saw", null)).isEmpty();
+
+        Item hammer = makeItem(1L, "Hammer");
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(hammer));
+
+        assertThat(itemSearchEngine.search("hammer", null)).containsExactly(hammer);
+    }
+
+    @Test
+    void rebuild_shouldKeepReadingUntilNoChangesArrive() {
+        when(itemRepository.findSearchDocuments(eq(0L), any())).thenAnswer(invocation -> {
+            itemSearchEngine.onSaved(makeItem(1L, "Hammer"));
+
+            return List.of(new ItemSearchDocument(1L, "Drill", "desc", true));
+        });
+        when(itemRepository.findSearchDocuments(eq(1L), any())).thenReturn(List.of());
+        when(itemRepository.findSearchDocumentsByIdIn(Set.of(1L)))
+                .thenAnswer(invocation -> {
+                    itemSearchEngine.onSaved(makeItem(1L, "Chisel"));
+
+                    return List.of(new ItemSearchDocument(1L, "Hammer", "desc", true));
+                })
+                .thenReturn(List.of(new ItemSearchDocument(1L, "Chisel", "desc", true)));
+
+        itemSearchEngine.rebuild();
+
+        assertThat(itemSearchEngine.search("hammer", null)).isEmpty();
+
+        Item chisel = makeItem(1L, "Chisel");
+        when(itemRepository.findAllById(List.of(1L))).thenReturn(List.of(chisel));
+
+        assertThat(itemSearchEngine.search("chisel", null)).containsExactly(chisel);
+    }
+
+    private Item makeItem(Long id, String name) {
+        return Item.builder().id(id).name(name).description("desc").available(true).build();
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ItemIndexTest {
+    private final ItemIndex index = new ItemIndex();
+
+    @Test
+    void search_shouldMatchSubstringsIgnoringCase() {
+        index.add(1, "Дрель", "Простая дрель", true);
+        index.add(2, "Отвертка", "Аккумуляторная отвертка", true);
+        index.add(3, "Saw", "Cordless DRILL saw", true);
+
+        assertThat(index.search("дРЕ", 0, 10)).containsExactly(1);
+        assertThat(index.search("кумулятор", 0, 10)).containsExactly(2);
+        assertThat(index.search("drill", 0, 10)).containsExactly(3);
+        assertThat(index.search("hammer", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldMatchQueriesShorterThanGram() {
+        index.add(1, "ab", "x", true);
+        index.add(2, "cd", "y", true);
+
+        assertThat(index.search("B", 0, 10)).containsExactly(1);
+    }
+
+    @Test
+    void search_shouldSkipUnavailableItems() {
+        index.add(1, "drill", "drill", false);
+        index.add(2, "drill", "drill", true);
+
+        assertThat(index.search("drill", 0, 10)).containsExactly(2);
+    }
+
+    @Test
+    void search_shouldVerifyWholeQueryNotOnlyGrams() {
+        index.add(1, "abcd bcde", "", true);
+
+        assertThat(index.search("abcde", 0, 10)).isEmpty();
+        assertThat(index.search("bcde", 0, 10)).containsExactly(1);
+    }
+
+    @Test
+    void search_shouldPageResultsOrderedById() {
+        index.add(3, "drill", "", true);
+        index.add(1, "drill", "", true);
+        index.add(2, "drill", "", true);
+
+        assertThat(index.search("drill", 0, 2)).containsExactly(1, 2);
+        assertThat(index.search("drill", 2, 2)).containsExactly(3);
+        assertThat(index.search("drill", 4, 2)).isEmpty();
+    }
+
+    @Test
+    void add_shouldReplacePreviousVersionOfItem() {
+        index.add(1, "drill", "", true);
+        index.add(1, "saw", "", false);
+        index.add(1, "saw", "", true);
+
+        assertThat(index.search("drill", 0, 10)).isEmpty();
+        assertThat(index.search("saw", 0, 10)).containsExactly(1);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void remove_shouldExcludeItemFromResults() {
+        index.add(1, "drill", "", true);
+        index.remove(1);
+        index.remove(2);
+
+        assertThat(index.search("drill", 0, 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void add_shouldKeepResultsAfterCompaction() {
+        for (int i = 0; i < 5000; i++) {
+            index.add(i % 10, "drill " + i, "", true);
+        }
+
+        assertThat(index.size()).isEqualTo(10);
+        assertThat(index.search("drill 499", 0, 100)).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(index.search("drill 4999", 0, 100)).containsExactly(9);
+        assertThat(index.search("drill 1", 0, 100)).isEmpty();
+    }
+
+    @Test
+    void searchAfter_shouldReturnItemsWithGreaterIds() {
+        for (long id = 1; id <= 5; id++) {
+            index.add(id, "drill", "", id != 3);
+        }
+
+        assertThat(index.searchAfter("drill", 0, 2)).containsExactly(1, 2);
+        assertThat(index.searchAfter("drill", 2, 2)).containsExactly(4, 5);
+        assertThat(index.searchAfter("drill", 3, 10)).containsExactly(4, 5);
+        assertThat(index.searchAfter("drill", 5, 10)).isEmpty();
+    }
+}
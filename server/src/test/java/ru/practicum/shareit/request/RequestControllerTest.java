@@ -72,7 +72,7 @@ class RequestControllerTest {
                 TestUtils.makeRequestDto(3)
         );
 
-        when(requestService.getOwnRequests(userId)).thenReturn(requests);
+        when(requestService.getOwnRequests(userId, null)).thenReturn(requests);
 
         mockMvc.perform(get("/requests").header(USER_ID_HEADER, userId))
                 .andExpect(status().isOk())
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.core.metrics.QueryCounter;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.request.dto.CreateRequestDto;
+import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.CreateUserDto;
+import ru.practicum.shareit.utils.QueryBudget;
+import ru.practicum.shareit.utils.TestUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class RequestServiceIntegrationTest {
+    private final RequestService requestService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final RequestRepository requestRepository;
+    private final QueryCounter queryCounter;
+
+    @BeforeEach
+    void deleteRequests() {
+        requestRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getOtherRequests_shouldContinueFirstPageWithCursorPageWhenTimestampsTie() {
+        User requester = userService.create(new CreateUserDto("requester", "tied-requester@test.test"));
+        User reader = userService.create(new CreateUserDto("reader", "tied-reader@test.test"));
+        LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        for (int i = 0; i < 6; i++) {
+            requestRepository.save(new Request(null, "tied " + i, created, requester));
+        }
+
+        List<RequestDto> all = requestService.getOtherRequests(reader.getId(), null);
+        List<RequestDto> firstPage = requestService.getOtherRequests(reader.getId(), PageRequest.of(0, 3));
+        RequestDto last = firstPage.get(firstPage.size() - 1);
+        List<RequestDto> nextPage = requestService.getOtherRequests(reader.getId(), Cursor.of(last.getCreated(), last.getId()), 100);
+
+        assertThat(all).hasSize(6);
+        assertThat(Stream.concat(firstPage.stream(), nextPage.stream()).map(RequestDto::getId))
+                .containsExactlyElementsOf(all.stream().map(RequestDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void getOtherRequests_shouldLoadAnswersWithoutPerRequestQueries() {
+        User owner = userService.create(new CreateUserDto("owner", "request-owner@test.test"));
+
+        for (int i = 0; i < 5; i++) {
+            User requester = userService.create(new CreateUserDto("requester", "requester" + i + "@test.test"));
+            RequestDto request = requestService.createRequest(new CreateRequestDto("need a drill " + i), requester.getId());
+
+            itemService.create(owner.getId(), TestUtils.makeCreateItemDto(true, request.getId()));
+            itemService.create(owner.getId(), TestUtils.makeCreateItemDto(true, request.getId()));
+        }
+
+        List<RequestDto> requests = QueryBudget.assertWithin(
+                queryCounter,
+                3,
+                () -> requestService.getOtherRequests(owner.getId(), PageRequest.of(0, 10))
+        );
+
+        assertThat(requests).hasSize(5);
+        assertThat(requests).allSatisfy(request -> assertThat(request.getItems()).hasSize(2));
+    }
+}
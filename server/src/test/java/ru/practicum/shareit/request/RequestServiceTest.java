@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
@@ -7,9 +8,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.core.concurrent.SingleFlight;
 import ru.practicum.shareit.core.exception.NotFoundException;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.CreateRequestDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.user.User;
@@ -42,6 +48,9 @@ class RequestServiceTest {
     @Spy
     private ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
 
+    @Spy
+    private SingleFlight singleFlight = new SingleFlight(new SimpleMeterRegistry(), 100);
+
     @InjectMocks
     private RequestService requestService;
 
@@ -83,11 +92,10 @@ class RequestServiceTest {
                 TestUtils.makeRequest(3, LocalDateTime.now(), user)
         );
 
-        when(userService.getById(userId)).thenReturn(user);
-        when(itemRepository.findAllByRequestId(anyLong())).thenReturn(Collections.emptyList());
-        when(requestRepository.findAllByUserIdOrderByCreatedDesc(anyLong())).thenReturn(requests);
+        when(itemRepository.findAllByRequestIdIn(any())).thenReturn(Collections.emptyList());
+        when(requestRepository.findAllByUserIdOrderByCreatedDescIdDesc(anyLong(), any())).thenReturn(requests);
 
-        assertThat(requestService.getOwnRequests(userId)).isEqualTo(requests
+        assertThat(requestService.getOwnRequests(userId, null)).isEqualTo(requests
                 .stream()
                 .map(requestMapper::requestToRequestDto)
                 .map(requestDto -> {
@@ -106,9 +114,8 @@ class RequestServiceTest {
                 TestUtils.makeRequest(3, LocalDateTime.now(), user)
         );
 
-        when(userService.getById(userId)).thenReturn(user);
-        when(itemRepository.findAllByRequestId(anyLong())).thenReturn(Collections.emptyList());
-        when(requestRepository.findAllByUserIdIsNotOrderByCreatedDesc(anyLong(), any())).thenReturn(requests);
+        when(itemRepository.findAllByRequestIdIn(any())).thenReturn(Collections.emptyList());
+        when(requestRepository.findAllByUserIdIsNotOrderByCreatedDescIdDesc(anyLong(), any())).thenReturn(requests);
 
         assertThat(requestService.getOtherRequests(userId, null)).isEqualTo(requests
                 .stream()
@@ -128,10 +135,41 @@ class RequestServiceTest {
         RequestDto requestDto = requestMapper.requestToRequestDto(request);
         requestDto.setItems(Collections.emptyList());
 
-        when(userService.getById(userId)).thenReturn(user);
-        when(itemRepository.findAllByRequestId(anyLong())).thenReturn(Collections.emptyList());
+        when(itemRepository.findAllByRequestIdIn(any())).thenReturn(Collections.emptyList());
         when(requestRepository.findById(anyLong())).thenReturn(Optional.of(request));
 
         assertThat(requestService.getById(requestId, userId)).isEqualTo(requestDto);
     }
+
+    @Test
+    void getOtherRequests_shouldLoadItemsOfAllRequestsInOneQuery() {
+        long userId = 1;
+        User user = TestUtils.makeUser(userId);
+        Request first = TestUtils.makeRequest(1, LocalDateTime.now(), user);
+        Request second = TestUtils.makeRequest(2, LocalDateTime.now(), user);
+        Item firstItem = TestUtils.makeItem(10, true, user);
+        firstItem.setRequest(first);
+        Item secondItem = TestUtils.makeItem(11, true, user);
+        secondItem.setRequest(first);
+
+        when(requestRepository.findAllByUserIdIsNotOrderByCreatedDescIdDesc(userId, null)).thenReturn(List.of(first, second));
+        when(itemRepository.findAllByRequestIdIn(List.of(1L, 2L))).thenReturn(List.of(firstItem, secondItem));
+
+        List<RequestDto> requests = requestService.getOtherRequests(userId, null);
+
+        assertThat(requests.get(0).getItems()).extracting(ItemDto::getId).containsExactly(10L, 11L);
+        assertThat(requests.get(1).getItems()).isEmpty();
+        verify(itemRepository, times(1)).findAllByRequestIdIn(any());
+    }
+
+    @Test
+    void getOwnRequests_shouldPassCursorAndLimit() {
+        long userId = 1;
+        LocalDateTime created = LocalDateTime.now();
+
+        when(requestRepository.findOwnRequestsBefore(userId, created, 5, PageRequest.of(0, 10))).thenReturn(List.of());
+
+        assertThat(requestService.getOwnRequests(userId, Cursor.of(created, 5), 10)).isEmpty();
+        verifyNoInteractions(itemRepository);
+    }
 }
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.user.dto.CreateUserDto;
+import ru.practicum.shareit.user.dto.UpdateUserDto;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class UserServiceCacheTest {
+    private final UserService userService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getById_shouldServeRepeatedReadsFromCacheUntilUpdate() {
+        User user = userService.create(new CreateUserDto("cached", "cached@test.test"));
+
+        statistics.clear();
+        userService.getById(user.getId());
+        userService.getById(user.getId());
+        userService.getById(user.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", UserService.USERS_CACHE).tag("result", "hit").functionCounter().count())
+                .isGreaterThanOrEqualTo(2);
+
+        userService.update(user.getId(), new UpdateUserDto("renamed", null));
+
+        assertThat(userService.getById(user.getId()).getName()).isEqualTo("renamed");
+    }
+
+    @Test
+    void existsById_shouldCacheOnlyExistingUsersAndForgetDeletedOnes() {
+        User user = userService.create(new CreateUserDto("exists", "exists@test.test"));
+
+        statistics.clear();
+        assertThat(userService.existsById(user.getId())).isTrue();
+        assertThat(userService.existsById(user.getId())).isTrue();
+        assertThat(userService.existsById(Long.MAX_VALUE)).isFalse();
+        assertThat(userService.existsById(Long.MAX_VALUE)).isFalse();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        userService.delete(user.getId());
+
+        assertThat(userService.existsById(user.getId())).isFalse();
+    }
+}
@@ -2,9 +2,14 @@ package ru.practicum.shareit.user;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.practicum.shareit.core.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UpdateUserDto;
 import ru.practicum.shareit.utils.TestUtils;
@@ -20,6 +25,14 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -37,6 +50,27 @@ class UserServiceTest {
         assertThat(userService.getById(id)).isEqualTo(user);
     }
 
+    @Test
+    void getById_shouldReturnNewInstanceOnEveryCacheHit() {
+        long id = 1;
+        User user = TestUtils.makeUser(id);
+        when(userRepository.findById(id)).thenReturn(Optional.of(user));
+
+        String name = user.getName();
+
+        userService.getById(id).setName("changed by caller");
+        userService.getById(id).setName("changed by another caller");
+
+        assertThat(userService.getById(id).getName()).isEqualTo(name);
+        verify(userRepository, times(1)).findById(id);
+    }
+
+    @Test
+    void checkExists_shouldThrowNotFoundException() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+        assertThatThrownBy(() -> userService.checkExists(1)).isInstanceOf(NotFoundException.class);
+    }
+
     @Test
     void update_shouldThrowNotFoundException() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
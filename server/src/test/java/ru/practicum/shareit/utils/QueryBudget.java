@@ -0,0 +1,37 @@
+package ru.practicum.shareit.utils;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.core.metrics.QueryCount;
+import ru.practicum.shareit.core.metrics.QueryCounter;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails a test when the code under test executes more statements than budgeted or runs any
+ * statement twice, which is how an N+1 shows up before the data grows.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class QueryBudget {
+    public static <T> T assertWithin(QueryCounter queryCounter, int maxStatements, Supplier<T> action) {
+        QueryCount count = queryCounter.start();
+        T result;
+
+        try {
+            result = action.get();
+        } finally {
+            queryCounter.stop();
+        }
+
+        assertThat(count.getRepeatedStatements(1))
+                .as("statements executed more than once")
+                .isEmpty();
+        assertThat(count.getStatements())
+                .as("statements executed")
+                .isLessThanOrEqualTo(maxStatements);
+
+        return result;
+    }
+}